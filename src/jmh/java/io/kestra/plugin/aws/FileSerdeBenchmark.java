@@ -0,0 +1,50 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.serializers.FileSerde;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Ion write loop used by all the tasks storing their results in the internal storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileSerdeBenchmark {
+    @Param({"10000"})
+    public int rows;
+
+    private List<Map<String, Object>> data;
+
+    @Setup
+    public void setup() {
+        this.data = new ArrayList<>(this.rows);
+        for (int i = 0; i < this.rows; i++) {
+            this.data.add(Map.of(
+                "id", i,
+                "name", "name-" + i,
+                "price", i * 1.5D,
+                "active", i % 2 == 0,
+                "updated", Instant.ofEpochSecond(1_700_000_000L + i),
+                "tags", List.of("a", "b", "c")
+            ));
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        try (OutputStream output = new BufferedOutputStream(OutputStream.nullOutputStream())) {
+            for (Map<String, Object> row : this.data) {
+                FileSerde.write(output, row);
+            }
+        }
+    }
+}
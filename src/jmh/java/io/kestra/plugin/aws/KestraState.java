@@ -0,0 +1,31 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A Kestra application context shared by the benchmarks of a trial, for the paths rendering properties.
+ */
+@State(Scope.Benchmark)
+public class KestraState {
+    private ApplicationContext applicationContext;
+
+    public RunContext runContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.applicationContext = ApplicationContext.run();
+        this.runContext = this.applicationContext.getBean(RunContextFactory.class).of();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.applicationContext.close();
+    }
+}
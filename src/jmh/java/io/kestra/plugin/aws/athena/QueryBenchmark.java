@@ -0,0 +1,65 @@
+package io.kestra.plugin.aws.athena;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.services.athena.model.ColumnInfo;
+import software.amazon.awssdk.services.athena.model.Datum;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryBenchmark {
+    private Query task;
+    private List<ColumnInfo> columns;
+    private List<Datum> row;
+
+    @Setup
+    public void setup() {
+        this.task = Query.builder()
+            .id(QueryBenchmark.class.getSimpleName())
+            .type(Query.class.getName())
+            .database("benchmark")
+            .outputLocation("s3://benchmark")
+            .query("SELECT 1")
+            .build();
+
+        this.columns = List.of(
+            column("boolean"),
+            column("int"),
+            column("bigint"),
+            column("double"),
+            column("decimal"),
+            column("date"),
+            column("timestamp"),
+            column("varchar")
+        );
+        this.row = List.of(
+            datum("true"),
+            datum("42"),
+            datum("9007199254740993"),
+            datum("3.14159"),
+            datum("12345.6789"),
+            datum("2023-10-18"),
+            datum("2023-10-18 12:34:56.123456"),
+            datum("kestra")
+        );
+    }
+
+    @Benchmark
+    public void mapCell(Blackhole blackhole) {
+        for (int i = 0; i < this.columns.size(); i++) {
+            blackhole.consume(this.task.mapCell(this.columns.get(i), this.row.get(i)));
+        }
+    }
+
+    private static ColumnInfo column(String type) {
+        return ColumnInfo.builder().name(type).type(type).build();
+    }
+
+    private static Datum datum(String value) {
+        return Datum.builder().varCharValue(value).build();
+    }
+}
@@ -0,0 +1,51 @@
+package io.kestra.plugin.aws.dynamodb;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AbstractDynamoDbBenchmark {
+    private Scan task;
+    private Map<String, Object> object;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setup() {
+        this.task = Scan.builder()
+            .id(AbstractDynamoDbBenchmark.class.getSimpleName())
+            .type(Scan.class.getName())
+            .tableName("benchmark")
+            .build();
+
+        this.object = Map.of(
+            "id", "2f0d3f3e-7c8a-4a43-9a3b-6fa1b7b6e2a1",
+            "firstname", "John",
+            "lastname", "Doe",
+            "age", 42,
+            "active", true,
+            "tags", List.of("aws", "kestra", "dynamodb"),
+            "address", Map.of(
+                "street", "1 main street",
+                "city", "Paris",
+                "zip", 75001
+            )
+        );
+        this.item = this.task.valueMapFrom(this.object);
+    }
+
+    @Benchmark
+    public Map<String, Object> objectMapFrom() {
+        return this.task.objectMapFrom(this.item);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> valueMapFrom() {
+        return this.task.valueMapFrom(this.object);
+    }
+}
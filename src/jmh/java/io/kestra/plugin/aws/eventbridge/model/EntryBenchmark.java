@@ -0,0 +1,41 @@
+package io.kestra.plugin.aws.eventbridge.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.plugin.aws.KestraState;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntryBenchmark {
+    @Param({"STRING", "MAP"})
+    public String detailType;
+
+    private Entry entry;
+
+    @Setup
+    public void setup() {
+        Object detail = this.detailType.equals("MAP") ?
+            Map.of("id", "2f0d3f3e-7c8a-4a43-9a3b-6fa1b7b6e2a1", "name", "{{ 'kestra' }}", "count", 42) :
+            "{\"id\":\"2f0d3f3e-7c8a-4a43-9a3b-6fa1b7b6e2a1\",\"name\":\"{{ 'kestra' }}\",\"count\":42}";
+
+        this.entry = Entry.builder()
+            .eventBusName("benchmark")
+            .source("io.kestra")
+            .detailType("benchmark")
+            .detail(detail)
+            .resources(List.of("arn:aws:s3:::benchmark"))
+            .build();
+    }
+
+    @Benchmark
+    public PutEventsRequestEntry toRequestEntry(KestraState state) throws IllegalVariableEvaluationException, JsonProcessingException {
+        return this.entry.toRequestEntry(state.runContext);
+    }
+}
@@ -0,0 +1,29 @@
+package io.kestra.plugin.aws.kinesis.model;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.plugin.aws.KestraState;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsRequestEntry;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecordBenchmark {
+    private Record record;
+
+    @Setup
+    public void setup() {
+        this.record = Record.builder()
+            .partitionKey("partition-{{ 1 + 1 }}")
+            .explicitHashKey("5")
+            .data("{\"id\":\"2f0d3f3e-7c8a-4a43-9a3b-6fa1b7b6e2a1\",\"name\":\"kestra\",\"count\":42}")
+            .build();
+    }
+
+    @Benchmark
+    public PutRecordsRequestEntry toPutRecordsRequestEntry(KestraState state) throws IllegalVariableEvaluationException {
+        return this.record.toPutRecordsRequestEntry(state.runContext);
+    }
+}
@@ -0,0 +1,46 @@
+package io.kestra.plugin.aws.s3;
+
+import org.openjdk.jmh.annotations.*;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filter applied to each listed object, a listing returns up to 1000 objects per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class S3ServiceBenchmark {
+    @Param({"", "^data/2023/.*\\.csv$"})
+    public String regExp;
+
+    private List<S3Object> objects;
+
+    @Setup
+    public void setup() {
+        this.objects = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            this.objects.add(S3Object.builder()
+                .key("data/" + (2020 + i % 4) + "/" + i + (i % 10 == 0 ? "/" : ".csv"))
+                .build()
+            );
+        }
+    }
+
+    @Benchmark
+    public int filter() {
+        String regExp = this.regExp.isEmpty() ? null : this.regExp;
+
+        int count = 0;
+        for (S3Object object : this.objects) {
+            if (S3Service.filter(object, regExp, ListInterface.Filter.FILES)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
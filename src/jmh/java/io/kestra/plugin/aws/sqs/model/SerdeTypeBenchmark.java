@@ -0,0 +1,22 @@
+package io.kestra.plugin.aws.sqs.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerdeTypeBenchmark {
+    private static final String MESSAGE = "{\"id\":\"2f0d3f3e-7c8a-4a43-9a3b-6fa1b7b6e2a1\",\"name\":\"kestra\",\"count\":42," +
+        "\"price\":3.14,\"active\":true,\"tags\":[\"aws\",\"sqs\"],\"nested\":{\"key\":\"value\"}}";
+
+    @Param({"STRING", "JSON"})
+    public SerdeType serdeType;
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return this.serdeType.deserialize(MESSAGE);
+    }
+}
@@ -3,12 +3,46 @@ package io.kestra.plugin.aws;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
+import io.reactivex.Single;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import software.amazon.awssdk.auth.credentials.*;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.core.SdkClient;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.client.builder.SdkAsyncClientBuilder;
+import software.amazon.awssdk.core.client.builder.SdkSyncClientBuilder;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.StsClientBuilder;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleWithWebIdentityCredentialsProvider;
+import software.amazon.awssdk.services.sts.auth.StsCredentialsProvider;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.services.sts.model.AssumeRoleWithWebIdentityRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static io.kestra.core.utils.Rethrow.throwSupplier;
 
 @SuperBuilder
 @ToString
@@ -16,6 +50,8 @@ import software.amazon.awssdk.auth.credentials.*;
 @Getter
 @NoArgsConstructor
 public abstract class AbstractConnection extends Task implements AbstractConnectionInterface {
+    private static final String DEFAULT_STS_ROLE_SESSION_NAME = "kestra-plugin-aws";
+
     protected String accessKeyId;
 
     protected String secretKeyId;
@@ -26,27 +62,317 @@ public abstract class AbstractConnection extends Task implements AbstractConnect
 
     protected String endpointOverride;
 
+    protected String stsRoleArn;
+
+    protected String stsRoleExternalId;
+
+    protected String stsRoleSessionName;
+
+    protected Duration stsRoleSessionDuration;
+
+    protected String stsEndpointOverride;
+
+    protected String stsWebIdentityTokenFile;
+
+    protected HttpClientConfig httpClient;
+
+    protected RetryConfig retry;
+
+    protected RateLimitConfig rateLimit;
+
     private Boolean compatibilityMode;
 
+    /**
+     * The credentials of this connection. Providers that need to resolve their credentials (the default chain and
+     * STS) are shared through the {@link AwsCredentialsRegistry}.
+     */
     protected AwsCredentialsProvider credentials(RunContext runContext) throws IllegalVariableEvaluationException {
         String accessKeyId = runContext.render(this.accessKeyId);
         String secretKeyId = runContext.render(this.secretKeyId);
         String sessionToken = runContext.render(this.sessionToken);
+        String stsRoleArn = runContext.render(this.stsRoleArn);
 
+        AwsCredentialsProvider credentialsProvider;
         if (sessionToken != null) {
-            StaticCredentialsProvider.create(AwsSessionCredentials.create(
+            credentialsProvider = StaticCredentialsProvider.create(AwsSessionCredentials.create(
                 accessKeyId,
                 secretKeyId,
                 sessionToken
             ));
         } else if (accessKeyId != null && secretKeyId != null) {
-            return StaticCredentialsProvider.create(AwsBasicCredentials.create(
+            credentialsProvider = StaticCredentialsProvider.create(AwsBasicCredentials.create(
                 accessKeyId,
                 secretKeyId
             ));
+        } else {
+            credentialsProvider = AwsCredentialsRegistry.getInstance().get(
+                "default",
+                () -> DefaultCredentialsProvider.builder()
+                    .asyncCredentialUpdateEnabled(true)
+                    .build()
+            );
+        }
+
+        if (stsRoleArn == null) {
+            return credentialsProvider;
+        }
+
+        String stsRoleExternalId = runContext.render(this.stsRoleExternalId);
+        String stsRoleSessionName = this.stsRoleSessionName != null ? runContext.render(this.stsRoleSessionName) : DEFAULT_STS_ROLE_SESSION_NAME;
+        Integer durationSeconds = this.stsRoleSessionDuration != null ? (int) this.stsRoleSessionDuration.toSeconds() : null;
+        String stsWebIdentityTokenFile = runContext.render(this.stsWebIdentityTokenFile);
+
+        // web identity calls are authenticated by the token, not by the base credentials
+        StsClientBuilder stsClientBuilder = StsClient.builder()
+            .credentialsProvider(stsWebIdentityTokenFile != null ? AnonymousCredentialsProvider.create() : credentialsProvider)
+            .httpClientBuilder(this.httpClientConfig().syncBuilder());
+
+        if (this.region != null) {
+            stsClientBuilder.region(Region.of(runContext.render(this.region)));
         }
 
-        return DefaultCredentialsProvider.builder()
-            .build();
+        if (this.stsEndpointOverride != null) {
+            stsClientBuilder.endpointOverride(URI.create(runContext.render(this.stsEndpointOverride)));
+        }
+
+        return AwsCredentialsRegistry.getInstance().get(
+            "sts|" + this.credentialsKey(runContext),
+            () -> {
+                StsClient stsClient = stsClientBuilder.build();
+
+                if (stsWebIdentityTokenFile != null) {
+                    return new ClosingStsCredentialsProvider(
+                        StsAssumeRoleWithWebIdentityCredentialsProvider.builder()
+                            .stsClient(stsClient)
+                            .refreshRequest(() -> AssumeRoleWithWebIdentityRequest.builder()
+                                .roleArn(stsRoleArn)
+                                .roleSessionName(stsRoleSessionName)
+                                .durationSeconds(durationSeconds)
+                                .webIdentityToken(readToken(stsWebIdentityTokenFile))
+                                .build()
+                            )
+                            .asyncCredentialUpdateEnabled(true)
+                            .build(),
+                        stsClient
+                    );
+                }
+
+                return new ClosingStsCredentialsProvider(
+                    StsAssumeRoleCredentialsProvider.builder()
+                        .stsClient(stsClient)
+                        .refreshRequest(AssumeRoleRequest.builder()
+                            .roleArn(stsRoleArn)
+                            .roleSessionName(stsRoleSessionName)
+                            .externalId(stsRoleExternalId)
+                            .durationSeconds(durationSeconds)
+                            .build()
+                        )
+                        .asyncCredentialUpdateEnabled(true)
+                        .build(),
+                    stsClient
+                );
+            }
+        );
+    }
+
+    /**
+     * Lease a client from the {@link AwsClientRegistry}, the client is built from {@code builder} configured
+     * with this connection the first time it's requested.
+     * The returned client must be closed once done, which only releases it.
+     */
+    protected <B extends AwsClientBuilder<B, C>, C extends SdkClient> C client(RunContext runContext, Class<C> clientClass, Supplier<B> builder) throws IllegalVariableEvaluationException {
+        return this.client(
+            runContext,
+            clientClass,
+            clientClass.getName(),
+            throwSupplier(() -> this.configure(runContext, builder.get()).build())
+        );
+    }
+
+    /**
+     * Lease a client from the {@link AwsClientRegistry} using a custom {@code factory}, for clients that
+     * can't be built from an {@link AwsClientBuilder}. The {@code name} must identify the way the client is built.
+     */
+    protected <C extends SdkAutoCloseable> C client(RunContext runContext, Class<C> clientClass, String name, Supplier<C> factory) throws IllegalVariableEvaluationException {
+        AwsClientRegistry.LeaseHandler handler = this.rateLimit != null ?
+            AwsClientRegistry.LeaseHandler.of(new AwsMetrics(runContext), new AwsRateLimiter(runContext, this.rateLimit)) :
+            new AwsMetrics(runContext);
+
+        return AwsClientRegistry.getInstance().acquire(clientClass, this.clientKey(runContext, name), factory, handler);
+    }
+
+    protected <B extends AwsClientBuilder<B, ?>> B configure(RunContext runContext, B builder) throws IllegalVariableEvaluationException {
+        builder.credentialsProvider(this.credentials(runContext));
+        ClientOverrideConfiguration.Builder overrideConfiguration = ClientOverrideConfiguration.builder()
+            .addExecutionInterceptor(AwsMetrics.INTERCEPTOR);
+
+        if (this.retry != null) {
+            overrideConfiguration.retryPolicy(this.retry.retryPolicy());
+        }
+
+        builder.overrideConfiguration(overrideConfiguration.build());
+
+        if (builder instanceof SdkSyncClientBuilder<?, ?> syncBuilder) {
+            syncBuilder.httpClientBuilder(this.httpClientConfig().syncBuilder());
+        } else if (builder instanceof SdkAsyncClientBuilder<?, ?> asyncBuilder) {
+            asyncBuilder.httpClientBuilder(this.httpClientConfig().asyncBuilder());
+        }
+
+        if (this.region != null) {
+            builder.region(Region.of(runContext.render(this.region)));
+        }
+
+        if (this.endpointOverride != null) {
+            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
+        }
+
+        return builder;
+    }
+
+    /**
+     * Adapt a call on an async client to a {@link Single}: the call is only started on subscription,
+     * so it can be used with operators limiting the requests in flight.
+     */
+    protected static <T> Single<T> single(Supplier<CompletableFuture<T>> call) {
+        return Single.create(emitter -> {
+            CompletableFuture<T> future = call.get();
+            emitter.setCancellable(() -> future.cancel(true));
+
+            future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    emitter.tryOnError(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+                } else {
+                    emitter.onSuccess(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Split {@code entries} into batches of at most {@code maxBytes}, for the batch APIs limiting the total size of a
+     * request. An entry larger than the limit is sent alone, so the service rejects it with its own error.
+     */
+    protected static <T> List<List<T>> batches(List<T> entries, ToLongFunction<T> size, long maxBytes) {
+        List<List<T>> batches = new ArrayList<>();
+        List<T> batch = new ArrayList<>();
+        long bytes = 0;
+
+        for (T entry : entries) {
+            long entrySize = size.applyAsLong(entry);
+            if (!batch.isEmpty() && bytes + entrySize > maxBytes) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                bytes = 0;
+            }
+
+            batch.add(entry);
+            bytes += entrySize;
+        }
+
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    protected HttpClientConfig httpClientConfig() {
+        return this.httpClient != null ? this.httpClient : HttpClientConfig.builder().build();
+    }
+
+    /**
+     * The key identifying a client in the {@link AwsClientRegistry}: everything that changes the way the client
+     * is built must be part of it. Credentials are only kept as a digest.
+     */
+    protected String clientKey(RunContext runContext, String name) throws IllegalVariableEvaluationException {
+        return String.join(
+            "|",
+            name,
+            String.valueOf(runContext.render(this.region)),
+            String.valueOf(runContext.render(this.endpointOverride)),
+            this.httpClientConfig().toString(),
+            String.valueOf(this.retry),
+            this.credentialsKey(runContext)
+        );
+    }
+
+    /**
+     * A digest of everything identifying the credentials of this connection.
+     */
+    protected String credentialsKey(RunContext runContext) throws IllegalVariableEvaluationException {
+        return digest(
+            runContext.render(this.accessKeyId),
+            runContext.render(this.secretKeyId),
+            runContext.render(this.sessionToken),
+            runContext.render(this.stsRoleArn),
+            runContext.render(this.stsRoleExternalId),
+            runContext.render(this.stsRoleSessionName),
+            String.valueOf(this.stsRoleSessionDuration),
+            runContext.render(this.stsEndpointOverride),
+            runContext.render(this.stsWebIdentityTokenFile),
+            runContext.render(this.region),
+            this.httpClientConfig().toString()
+        );
+    }
+
+    protected static String digest(String... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : values) {
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public abstract static class AbstractConnectionBuilder<C extends AbstractConnection, B extends AbstractConnectionBuilder<C, B>> extends Task.TaskBuilder<C, B> {
+        /**
+         * Copy all the connection properties of {@code connection}, for tasks and triggers running other tasks.
+         */
+        public B connection(AbstractConnectionInterface connection) {
+            return this
+                .accessKeyId(connection.getAccessKeyId())
+                .secretKeyId(connection.getSecretKeyId())
+                .sessionToken(connection.getSessionToken())
+                .region(connection.getRegion())
+                .endpointOverride(connection.getEndpointOverride())
+                .stsRoleArn(connection.getStsRoleArn())
+                .stsRoleExternalId(connection.getStsRoleExternalId())
+                .stsRoleSessionName(connection.getStsRoleSessionName())
+                .stsRoleSessionDuration(connection.getStsRoleSessionDuration())
+                .stsEndpointOverride(connection.getStsEndpointOverride())
+                .stsWebIdentityTokenFile(connection.getStsWebIdentityTokenFile())
+                .httpClient(connection.getHttpClient())
+                .retry(connection.getRetry())
+                .rateLimit(connection.getRateLimit());
+        }
+    }
+
+    private static String readToken(String path) {
+        try {
+            return Files.readString(Path.of(path)).trim();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read web identity token file '" + path + "'", e);
+        }
+    }
+
+    /**
+     * A STS credentials provider that also closes its own STS client.
+     */
+    private record ClosingStsCredentialsProvider(StsCredentialsProvider provider, StsClient stsClient) implements AwsCredentialsProvider, SdkAutoCloseable {
+        @Override
+        public AwsCredentials resolveCredentials() {
+            return this.provider.resolveCredentials();
+        }
+
+        @Override
+        public void close() {
+            this.provider.close();
+            this.stsClient.close();
+        }
     }
 }
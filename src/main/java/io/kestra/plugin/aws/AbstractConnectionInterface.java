@@ -3,6 +3,8 @@ package io.kestra.plugin.aws;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.Duration;
+
 public interface AbstractConnectionInterface {
     @Schema(
         title = "Access Key Id in order to connect to AWS.",
@@ -25,6 +27,49 @@ public interface AbstractConnectionInterface {
     @PluginProperty(dynamic = true)
     String getSessionToken();
 
+    @Schema(
+        title = "AWS STS Role.",
+        description = "The Amazon Resource Name (ARN) of the role to assume. If set the task will use the `StsAssumeRoleCredentialsProvider`, " +
+            "authenticated with the other credentials of the connection. Credentials are refreshed in the background before they expire."
+    )
+    @PluginProperty(dynamic = true)
+    String getStsRoleArn();
+
+    @Schema(
+        title = "AWS STS External Id.",
+        description = "A unique identifier that might be required when you assume a role in another account. This property is only used when an `stsRoleArn` is defined."
+    )
+    @PluginProperty(dynamic = true)
+    String getStsRoleExternalId();
+
+    @Schema(
+        title = "AWS STS Session name.",
+        description = "This property is only used when an `stsRoleArn` is defined."
+    )
+    @PluginProperty(dynamic = true)
+    String getStsRoleSessionName();
+
+    @Schema(
+        title = "AWS STS Session duration.",
+        description = "The duration of the role session, defaults to one hour. This property is only used when an `stsRoleArn` is defined."
+    )
+    @PluginProperty
+    Duration getStsRoleSessionDuration();
+
+    @Schema(
+        title = "The AWS STS endpoint with which the SDK should communicate."
+    )
+    @PluginProperty(dynamic = true)
+    String getStsEndpointOverride();
+
+    @Schema(
+        title = "Path to a web identity token file.",
+        description = "If set along with an `stsRoleArn`, the role is assumed with the token (`AssumeRoleWithWebIdentity`) instead of the other credentials, " +
+            "for example with EKS IAM roles for service accounts. The file is read again on each refresh."
+    )
+    @PluginProperty(dynamic = true)
+    String getStsWebIdentityTokenFile();
+
     @Schema(
         title = "AWS region with which the SDK should communicate."
     )
@@ -37,4 +82,27 @@ public interface AbstractConnectionInterface {
     )
     @PluginProperty(dynamic = true)
     String getEndpointOverride();
+
+    @Schema(
+        title = "The HTTP client configuration.",
+        description = "Allows choosing the HTTP client implementation and tuning its connection pool and timeouts."
+    )
+    @PluginProperty
+    HttpClientConfig getHttpClient();
+
+    @Schema(
+        title = "The retry configuration.",
+        description = "Allows choosing the retry mode, the maximum number of attempts and the backoff between retries. " +
+            "The `ADAPTIVE` mode also slows down requests on throttling errors, which helps when a resource is shared by many task runs."
+    )
+    @PluginProperty
+    RetryConfig getRetry();
+
+    @Schema(
+        title = "The client side rate limit.",
+        description = "Requests are delayed to stay under the configured rate, per target resource (table, stream, queue, " +
+            "topic, function or bucket prefix). The limit is shared by all the task runs of a worker using the same rate limit."
+    )
+    @PluginProperty
+    RateLimitConfig getRateLimit();
 }
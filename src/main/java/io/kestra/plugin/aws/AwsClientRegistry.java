@@ -0,0 +1,401 @@
+package io.kestra.plugin.aws;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of AWS SDK clients, shared across task runs.
+ * <p>
+ * Each {@link #acquire(Class, String, Supplier)} returns a lease implementing the client interfaces: closing the lease
+ * only releases the client, the underlying client is closed once it has been unused for {@link #IDLE_TIMEOUT}, or
+ * sooner when the registry holds more than {@link #MAX_SIZE} clients.
+ * <p>
+ * A {@link LeaseHandler} can observe or delay the requests sent through a lease, to attach per task run settings to
+ * requests sent by a shared client.
+ */
+@Slf4j
+public final class AwsClientRegistry {
+    static final int MAX_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final AwsClientRegistry INSTANCE = new AwsClientRegistry(MAX_SIZE, IDLE_TIMEOUT);
+
+    static {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aws-client-registry-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleWithFixedDelay(INSTANCE::evict, 30, 30, TimeUnit.SECONDS);
+    }
+
+    // per client class, whether an interface default method is inherited as is by the client
+    private static final ClassValue<Map<Method, Boolean>> INHERITED = new ClassValue<>() {
+        @Override
+        protected Map<Method, Boolean> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // the paginator constructors of the client methods
+    private static final Map<Method, Optional<Constructor<?>>> PAGINATORS = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+
+    // access ordered, so the first idle entries are the least recently used ones
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    AwsClientRegistry(int maxSize, Duration idleTimeout) {
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public static AwsClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Lease the client registered under {@code key}, creating it with {@code factory} if needed.
+     * The returned instance must be closed to release the lease.
+     */
+    public <C extends SdkAutoCloseable> C acquire(Class<C> clientClass, String key, Supplier<? extends C> factory) {
+        return this.acquire(clientClass, key, factory, LeaseHandler.NONE);
+    }
+
+    /**
+     * Same as {@link #acquire(Class, String, Supplier)}, with a {@code handler} called for each request sent
+     * through the lease and when it's released.
+     */
+    public <C extends SdkAutoCloseable> C acquire(Class<C> clientClass, String key, Supplier<? extends C> factory, LeaseHandler handler) {
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.computeIfAbsent(key, Entry::new);
+            entry.references++;
+        }
+
+        Object client;
+        try {
+            client = entry.client(factory);
+        } catch (RuntimeException | Error e) {
+            // under the lock of the acquirers: the entry is only dropped if no other lease is waiting for its client,
+            // those retry the factory on the same entry
+            synchronized (this) {
+                entry.references--;
+                if (entry.references == 0) {
+                    this.entries.remove(key, entry);
+                }
+            }
+
+            throw e;
+        }
+
+        this.evict();
+
+        return clientClass.cast(Proxy.newProxyInstance(
+            clientClass.getClassLoader(),
+            interfaces(clientClass, client.getClass()),
+            new Lease(entry, client, handler)
+        ));
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Close clients that have been idle for too long, then the least recently used idle ones
+     * while the registry is over its maximum size.
+     */
+    void evict() {
+        List<Entry> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            int overflow = this.entries.size() - this.maxSize;
+
+            Iterator<Entry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.references > 0) {
+                    continue;
+                }
+
+                if (overflow > 0 || now - entry.releasedAt >= this.idleTimeoutNanos) {
+                    iterator.remove();
+                    evicted.add(entry);
+                    overflow--;
+                }
+            }
+        }
+
+        evicted.forEach(Entry::close);
+    }
+
+    private void release(Entry entry) {
+        synchronized (this) {
+            entry.references--;
+            entry.releasedAt = System.nanoTime();
+        }
+
+        if (this.size() > this.maxSize) {
+            this.evict();
+        }
+    }
+
+    private static Class<?>[] interfaces(Class<?> clientClass, Class<?> implementation) {
+        // expose every public interface of the real client, so `instanceof` checks done by the SDK
+        // (like S3TransferManager detecting a CRT based client) still hold on the lease
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        interfaces.add(clientClass);
+
+        for (Class<?> current = implementation; current != null; current = current.getSuperclass()) {
+            for (Class<?> candidate : current.getInterfaces()) {
+                if (Modifier.isPublic(candidate.getModifiers())) {
+                    interfaces.add(candidate);
+                }
+            }
+        }
+
+        return interfaces.toArray(Class<?>[]::new);
+    }
+
+    /**
+     * Hooks called by a lease, on the threads using it.
+     */
+    public interface LeaseHandler {
+        LeaseHandler NONE = new LeaseHandler() {};
+
+        /**
+         * Called with every request sent through the lease, returns the request to send.
+         */
+        default SdkRequest request(SdkRequest request) {
+            return request;
+        }
+
+        /**
+         * Called with every request sent through the lease, returns how long to delay it, in nanoseconds.
+         * Synchronous calls wait on the calling thread, asynchronous ones are started once the delay has elapsed.
+         */
+        default long delayNanos(SdkRequest request) {
+            return 0;
+        }
+
+        /**
+         * Called once, when the lease is released.
+         */
+        default void released() {
+        }
+
+        /**
+         * A handler calling all {@code handlers} in order, delays are the longest of their delays.
+         */
+        static LeaseHandler of(LeaseHandler... handlers) {
+            return new LeaseHandler() {
+                @Override
+                public SdkRequest request(SdkRequest request) {
+                    SdkRequest current = request;
+                    for (LeaseHandler handler : handlers) {
+                        current = handler.request(current);
+                    }
+
+                    return current;
+                }
+
+                @Override
+                public long delayNanos(SdkRequest request) {
+                    long delay = 0;
+                    for (LeaseHandler handler : handlers) {
+                        delay = Math.max(delay, handler.delayNanos(request));
+                    }
+
+                    return delay;
+                }
+
+                @Override
+                public void released() {
+                    for (LeaseHandler handler : handlers) {
+                        handler.released();
+                    }
+                }
+            };
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private volatile Object client;
+        private int references;
+        private long releasedAt = System.nanoTime();
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        private Object client(Supplier<?> factory) {
+            if (this.client == null) {
+                synchronized (this) {
+                    if (this.client == null) {
+                        this.client = factory.get();
+                    }
+                }
+            }
+
+            return this.client;
+        }
+
+        private void close() {
+            if (this.client instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Unable to close AWS client '{}'", this.key, e);
+                }
+            }
+        }
+    }
+
+    private final class Lease implements InvocationHandler {
+        private final Entry entry;
+        private final Object client;
+        private final LeaseHandler handler;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Lease(Entry entry, Object client, LeaseHandler handler) {
+            this.entry = entry;
+            this.client = client;
+            this.handler = handler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Lease(" + this.client + ")";
+                };
+            }
+
+            if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                if (this.released.compareAndSet(false, true)) {
+                    try {
+                        this.handler.released();
+                    } finally {
+                        release(this.entry);
+                    }
+                }
+
+                return null;
+            }
+
+            // the clients may override the paginators to bind them to themselves, build them on the lease so the
+            // request of each page goes through the handler
+            Constructor<?> paginator = paginator(method);
+            if (paginator != null) {
+                try {
+                    return paginator.newInstance(proxy, args[0]);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            // default methods not overridden by the client (consumer builder variants) call back other methods
+            // on `this`: run them on the lease, so their requests go through the handler
+            if (method.isDefault() && isInherited(this.client.getClass(), method)) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+
+            long delay = 0;
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    if (args[i] instanceof SdkRequest request) {
+                        delay = Math.max(delay, this.handler.delayNanos(request));
+                        args[i] = this.handler.request(request);
+                    }
+                }
+            }
+
+            if (delay > 0) {
+                if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+                    return CompletableFuture
+                        .runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS))
+                        .thenCompose(unused -> {
+                            try {
+                                return (CompletableFuture<?>) this.call(method, args);
+                            } catch (Throwable e) {
+                                return CompletableFuture.failedFuture(e);
+                            }
+                        });
+                }
+
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+
+            return this.call(method, args);
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(this.client, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * The constructor of the paginator returned by {@code method}, taking the client and the first request, if any.
+     */
+    private static Constructor<?> paginator(Method method) {
+        return PAGINATORS.computeIfAbsent(method, m -> {
+            if (!m.getName().endsWith("Paginator") ||
+                m.getParameterCount() != 1 ||
+                !SdkRequest.class.isAssignableFrom(m.getParameterTypes()[0])
+            ) {
+                return Optional.empty();
+            }
+
+            try {
+                return Optional.of(m.getReturnType().getConstructor(m.getDeclaringClass(), m.getParameterTypes()[0]));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private static boolean isInherited(Class<?> implementation, Method method) {
+        return INHERITED.get(implementation).computeIfAbsent(method, m -> {
+            try {
+                return implementation.getMethod(m.getName(), m.getParameterTypes()).getDeclaringClass().isInterface();
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+}
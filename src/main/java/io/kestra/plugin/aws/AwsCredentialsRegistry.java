@@ -0,0 +1,175 @@
+package io.kestra.plugin.aws;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of AWS credentials providers, shared across task runs and clients.
+ * <p>
+ * Resolving credentials can be expensive (profile files, instance metadata, STS calls), so providers are kept
+ * while they are used and refresh their credentials in the background. {@link #get(String, Supplier)} returns a
+ * view that resolves through the registry: clients never hold the provider itself, so a provider can be closed
+ * once unused for {@link #IDLE_TIMEOUT} and transparently recreated on the next use. A provider is never closed
+ * while credentials are being resolved through it.
+ */
+@Slf4j
+public final class AwsCredentialsRegistry {
+    static final int MAX_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private static final AwsCredentialsRegistry INSTANCE = new AwsCredentialsRegistry(MAX_SIZE, IDLE_TIMEOUT);
+
+    static {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aws-credentials-registry-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleWithFixedDelay(INSTANCE::evict, 1, 1, TimeUnit.MINUTES);
+    }
+
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+
+    // access ordered, so the first idle entries are the least recently used ones
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    AwsCredentialsRegistry(int maxSize, Duration idleTimeout) {
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public static AwsCredentialsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get a provider resolving the credentials of the provider registered under {@code key},
+     * created with {@code factory} on first use.
+     */
+    public AwsCredentialsProvider get(String key, Supplier<? extends AwsCredentialsProvider> factory) {
+        return new SharedCredentialsProvider(key, factory);
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Close providers that have been unused for too long, then the least recently used unused ones
+     * while the registry is over its maximum size.
+     */
+    void evict() {
+        List<Entry> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            long now = System.nanoTime();
+            int overflow = this.entries.size() - this.maxSize;
+
+            Iterator<Entry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.references > 0) {
+                    continue;
+                }
+
+                if (overflow > 0 || now - entry.usedAt >= this.idleTimeoutNanos) {
+                    iterator.remove();
+                    evicted.add(entry);
+                    overflow--;
+                }
+            }
+        }
+
+        evicted.forEach(Entry::close);
+    }
+
+    private AwsCredentials resolve(String key, Supplier<? extends AwsCredentialsProvider> factory) {
+        // the lookup and the reference are taken under the eviction lock, so an entry in use is never closed
+        Entry entry;
+        synchronized (this) {
+            entry = this.entries.computeIfAbsent(key, Entry::new);
+            entry.references++;
+        }
+
+        try {
+            return entry.provider(factory).resolveCredentials();
+        } finally {
+            synchronized (this) {
+                entry.references--;
+                entry.usedAt = System.nanoTime();
+
+                // a provider that failed to be created is retried by the waiting resolutions on the same entry
+                if (entry.references == 0 && entry.provider == null) {
+                    this.entries.remove(key, entry);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private volatile AwsCredentialsProvider provider;
+        private int references;
+        private long usedAt = System.nanoTime();
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        private AwsCredentialsProvider provider(Supplier<? extends AwsCredentialsProvider> factory) {
+            if (this.provider == null) {
+                synchronized (this) {
+                    if (this.provider == null) {
+                        this.provider = factory.get();
+                    }
+                }
+            }
+
+            return this.provider;
+        }
+
+        private void close() {
+            if (this.provider instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Unable to close AWS credentials provider '{}'", this.key, e);
+                }
+            }
+        }
+    }
+
+    // not closeable on purpose, clients must not close shared providers
+    private final class SharedCredentialsProvider implements AwsCredentialsProvider {
+        private final String key;
+        private final Supplier<? extends AwsCredentialsProvider> factory;
+
+        private SharedCredentialsProvider(String key, Supplier<? extends AwsCredentialsProvider> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+
+        @Override
+        public AwsCredentials resolveCredentials() {
+            return resolve(this.key, this.factory);
+        }
+
+        @Override
+        public String toString() {
+            return "SharedCredentialsProvider(" + this.key + ")";
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the SDK metrics of the requests sent by a task run, and reports them as task metrics tagged by
+ * {@code service} and {@code operation} once the client is released:
+ * <ul>
+ *     <li>{@code aws.api.calls}, {@code aws.api.errors}: the number of API calls and failed ones.</li>
+ *     <li>{@code aws.api.duration}: the total duration of the API calls, retries included.</li>
+ *     <li>{@code aws.api.latency}: the number of API calls per duration bucket, tagged by {@code bucket}.</li>
+ *     <li>{@code aws.api.attempts}, {@code aws.api.throttled}: the number of HTTP attempts and throttled ones.</li>
+ *     <li>{@code aws.api.bytes.sent}, {@code aws.api.bytes.received}: the request and response payload sizes.</li>
+ *     <li>{@code aws.api.connection.acquire}: the total time waiting for a connection from the pool.</li>
+ * </ul>
+ * Clients are shared across task runs, so the publisher is attached to each request sent through a lease. The async
+ * calls completing after the release of the lease are reported on their own.
+ */
+final class AwsMetrics implements MetricPublisher, AwsClientRegistry.LeaseHandler {
+    /**
+     * Client interceptor recording the payload sizes, as the SDK doesn't measure them.
+     */
+    static final ExecutionInterceptor INTERCEPTOR = new BytesInterceptor();
+
+    private static final SdkMetric<Long> BYTES_SENT = SdkMetric.create("KestraBytesSent", Long.class, MetricLevel.INFO, MetricCategory.CUSTOM);
+    private static final SdkMetric<Long> BYTES_RECEIVED = SdkMetric.create("KestraBytesReceived", Long.class, MetricLevel.INFO, MetricCategory.CUSTOM);
+
+    private static final String API_CALL_ATTEMPT = "ApiCallAttempt";
+    private static final String HTTP_CLIENT = "HttpClient";
+    private static final String THROTTLING = "Throttling";
+
+    private static final List<Duration> LATENCY_BUCKETS = List.of(
+        Duration.ofMillis(10),
+        Duration.ofMillis(50),
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(5)
+    );
+
+    private final RunContext runContext;
+    private final Map<Operation, Stats> stats = new ConcurrentHashMap<>();
+    private boolean released = false;
+
+    AwsMetrics(RunContext runContext) {
+        this.runContext = runContext;
+    }
+
+    @Override
+    public SdkRequest request(SdkRequest request) {
+        if (!(request instanceof AwsRequest awsRequest)) {
+            return request;
+        }
+
+        AwsRequestOverrideConfiguration overrideConfiguration = awsRequest.overrideConfiguration()
+            .map(AwsRequestOverrideConfiguration::toBuilder)
+            .orElseGet(AwsRequestOverrideConfiguration::builder)
+            .addMetricPublisher(this)
+            .build();
+
+        return awsRequest.toBuilder()
+            .overrideConfiguration(overrideConfiguration)
+            .build();
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        synchronized (this) {
+            if (!this.released) {
+                record(this.stats, metricCollection);
+
+                return;
+            }
+        }
+
+        // an async call completed after the release of its client, reported on its own
+        Map<Operation, Stats> late = new HashMap<>();
+        record(late, metricCollection);
+        this.report(late);
+    }
+
+    @Override
+    public void released() {
+        synchronized (this) {
+            this.released = true;
+        }
+
+        // no publish writes to the stats anymore
+        this.report(this.stats);
+    }
+
+    private static void record(Map<Operation, Stats> into, MetricCollection metricCollection) {
+        Operation operation = new Operation(
+            first(metricCollection, CoreMetric.SERVICE_ID).orElse("unknown"),
+            first(metricCollection, CoreMetric.OPERATION_NAME).orElse("unknown")
+        );
+        Stats stats = into.computeIfAbsent(operation, o -> new Stats());
+
+        stats.calls.increment();
+        if (!first(metricCollection, CoreMetric.API_CALL_SUCCESSFUL).orElse(false)) {
+            stats.errors.increment();
+        }
+
+        first(metricCollection, CoreMetric.API_CALL_DURATION).ifPresent(duration -> {
+            stats.durationNanos.add(duration.toNanos());
+            stats.latency.incrementAndGet(bucket(duration));
+        });
+
+        metricCollection.childrenWithName(API_CALL_ATTEMPT).forEach(attempt -> {
+            stats.attempts.increment();
+
+            if (first(attempt, CoreMetric.ERROR_TYPE).filter(THROTTLING::equals).isPresent()) {
+                stats.throttled.increment();
+            }
+
+            first(attempt, BYTES_SENT).ifPresent(stats.bytesSent::add);
+            first(attempt, BYTES_RECEIVED).ifPresent(stats.bytesReceived::add);
+
+            attempt.childrenWithName(HTTP_CLIENT)
+                .flatMap(http -> http.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION).stream())
+                .forEach(duration -> stats.acquireNanos.add(duration.toNanos()));
+        });
+    }
+
+    private void report(Map<Operation, Stats> operations) {
+        operations.forEach((operation, stats) -> {
+            String[] tags = {"service", operation.service(), "operation", operation.name()};
+
+            this.runContext.metric(Counter.of("aws.api.calls", stats.calls.sum(), tags));
+            this.runContext.metric(Counter.of("aws.api.attempts", stats.attempts.sum(), tags));
+            this.runContext.metric(Timer.of("aws.api.duration", Duration.ofNanos(stats.durationNanos.sum()), tags));
+
+            for (int i = 0; i < stats.latency.length(); i++) {
+                long count = stats.latency.get(i);
+                if (count > 0) {
+                    this.runContext.metric(Counter.of("aws.api.latency", count, "service", operation.service(), "operation", operation.name(), "bucket", bucketName(i)));
+                }
+            }
+
+            if (stats.errors.sum() > 0) {
+                this.runContext.metric(Counter.of("aws.api.errors", stats.errors.sum(), tags));
+            }
+
+            if (stats.throttled.sum() > 0) {
+                this.runContext.metric(Counter.of("aws.api.throttled", stats.throttled.sum(), tags));
+            }
+
+            if (stats.bytesSent.sum() > 0) {
+                this.runContext.metric(Counter.of("aws.api.bytes.sent", stats.bytesSent.sum(), tags));
+            }
+
+            if (stats.bytesReceived.sum() > 0) {
+                this.runContext.metric(Counter.of("aws.api.bytes.received", stats.bytesReceived.sum(), tags));
+            }
+
+            if (stats.acquireNanos.sum() > 0) {
+                this.runContext.metric(Timer.of("aws.api.connection.acquire", Duration.ofNanos(stats.acquireNanos.sum()), tags));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        // nothing to release, metrics are reported when the client lease is released
+    }
+
+    private static int bucket(Duration duration) {
+        for (int i = 0; i < LATENCY_BUCKETS.size(); i++) {
+            if (duration.compareTo(LATENCY_BUCKETS.get(i)) <= 0) {
+                return i;
+            }
+        }
+
+        return LATENCY_BUCKETS.size();
+    }
+
+    private static String bucketName(int bucket) {
+        if (bucket < LATENCY_BUCKETS.size()) {
+            return "<=" + LATENCY_BUCKETS.get(bucket).toMillis() + "ms";
+        }
+
+        return ">" + LATENCY_BUCKETS.get(LATENCY_BUCKETS.size() - 1).toMillis() + "ms";
+    }
+
+    private static <T> Optional<T> first(MetricCollection metricCollection, SdkMetric<T> metric) {
+        List<T> values = metricCollection.metricValues(metric);
+
+        return values.isEmpty() ? Optional.empty() : Optional.ofNullable(values.get(0));
+    }
+
+    private record Operation(String service, String name) {
+    }
+
+    private static final class Stats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder durationNanos = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final AtomicLongArray latency = new AtomicLongArray(LATENCY_BUCKETS.size() + 1);
+    }
+
+    private static final class BytesInterceptor implements ExecutionInterceptor {
+        @Override
+        public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+            MetricCollector collector = executionAttributes.getAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+            if (collector == null) {
+                return;
+            }
+
+            context.requestBody()
+                .flatMap(RequestBody::optionalContentLength)
+                .or(() -> context.asyncRequestBody().flatMap(AsyncRequestBody::contentLength))
+                .ifPresent(length -> collector.reportMetric(BYTES_SENT, length));
+        }
+
+        @Override
+        public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+            MetricCollector collector = executionAttributes.getAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+            if (collector == null) {
+                return;
+            }
+
+            context.httpResponse()
+                .firstMatchingHeader("Content-Length")
+                .ifPresent(length -> {
+                    try {
+                        collector.reportMetric(BYTES_RECEIVED, Long.parseLong(length));
+                    } catch (NumberFormatException ignored) {
+                        // not a size we can report
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.kestra.plugin.aws;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import software.amazon.awssdk.core.SdkRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client side rate limiting of the requests sent through a client lease.
+ * <p>
+ * Each target resource (table, stream, queue, topic, function, or bucket and key prefix) has its own token bucket,
+ * shared by all the task runs of the worker using the same rate limit. Requests without a known resource share a
+ * bucket per service.
+ */
+final class AwsRateLimiter implements AwsClientRegistry.LeaseHandler {
+    private static final List<String> RESOURCE_FIELDS = List.of(
+        "TableName",
+        "StreamARN",
+        "StreamName",
+        "QueueUrl",
+        "TopicArn",
+        "FunctionName",
+        "Bucket"
+    );
+
+    private static final Cache<String, TokenBucket> BUCKETS = CacheBuilder.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .build();
+
+    private final RunContext runContext;
+    private final RateLimitConfig rateLimit;
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    AwsRateLimiter(RunContext runContext, RateLimitConfig rateLimit) {
+        this.runContext = runContext;
+        this.rateLimit = rateLimit;
+    }
+
+    @Override
+    public long delayNanos(SdkRequest request) {
+        String key = String.join("|", resource(request), String.valueOf(this.rateLimit.getRequestsPerSecond()), String.valueOf(this.rateLimit.burst()));
+
+        long delay;
+        try {
+            delay = BUCKETS.get(key, () -> new TokenBucket(this.rateLimit.getRequestsPerSecond(), this.rateLimit.burst())).reserve();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (delay > 0) {
+            this.delayed.increment();
+            this.waitNanos.add(delay);
+        }
+
+        return delay;
+    }
+
+    @Override
+    public void released() {
+        if (this.delayed.sum() > 0) {
+            this.runContext.metric(Counter.of("aws.ratelimit.delayed", this.delayed.sum()));
+            this.runContext.metric(Timer.of("aws.ratelimit.wait", Duration.ofNanos(this.waitNanos.sum())));
+        }
+    }
+
+    static String resource(SdkRequest request) {
+        String service = service(request.getClass());
+
+        for (String field : RESOURCE_FIELDS) {
+            Optional<String> value = request.getValueForField(field, String.class);
+            if (value.isPresent()) {
+                if (field.equals("Bucket")) {
+                    // S3 request rates are scaled per prefix
+                    String prefix = request.getValueForField("Key", String.class)
+                        .map(key -> key.substring(0, key.lastIndexOf('/') + 1))
+                        .orElse("");
+
+                    return service + ":" + value.get() + "/" + prefix;
+                }
+
+                return service + ":" + value.get();
+            }
+        }
+
+        return service;
+    }
+
+    private static String service(Class<?> requestClass) {
+        // requests are in the `software.amazon.awssdk.services.<service>.model` package
+        String packageName = requestClass.getPackageName();
+        String[] parts = packageName.split("\\.");
+
+        return parts.length > 4 ? parts[4] : packageName;
+    }
+
+    /**
+     * A token bucket where requests reserve a token, possibly in the future: the returned delay is the time to wait
+     * for the reserved token, so concurrent requests are spread over time.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedAt = System.nanoTime();
+
+        TokenBucket(double tokensPerSecond, int capacity) {
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            this.tokens = Math.min(this.capacity, this.tokens + (now - this.updatedAt) * this.tokensPerNano);
+            this.updatedAt = now;
+            this.tokens -= 1;
+
+            return this.tokens >= 0 ? 0 : (long) Math.ceil(-this.tokens / this.tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.jackson.Jacksonized;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.time.Duration;
+
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+@Jacksonized
+public class HttpClientConfig {
+    private static final Duration CRT_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(30);
+
+    @Schema(
+        title = "The HTTP client used by synchronous AWS clients.",
+        description = "`APACHE` supports all options, `URL_CONNECTION` is lighter but only supports `connectionTimeout` and `socketTimeout`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private SyncType type = SyncType.APACHE;
+
+    @Schema(
+        title = "The HTTP client used by asynchronous AWS clients.",
+        description = "`NETTY` supports all options, `CRT` uses the AWS Common Runtime and ignores `socketTimeout`, " +
+            "`connectionAcquisitionTimeout` and `connectionTimeToLive`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private AsyncType asyncType = AsyncType.NETTY;
+
+    @Schema(
+        title = "The maximum number of connections allowed in the connection pool.",
+        description = "Each request in flight holds a connection, so this should be at least the concurrency of the task. " +
+            "Defaults to 50 for `APACHE` and `NETTY`."
+    )
+    @PluginProperty
+    private Integer maxConnections;
+
+    @Schema(
+        title = "The amount of time to wait when initially establishing a connection before giving up."
+    )
+    @PluginProperty
+    private Duration connectionTimeout;
+
+    @Schema(
+        title = "The amount of time to wait for data to be transferred over an established, open connection before the connection is timed out."
+    )
+    @PluginProperty
+    private Duration socketTimeout;
+
+    @Schema(
+        title = "The amount of time to wait when acquiring a connection from the pool before giving up."
+    )
+    @PluginProperty
+    private Duration connectionAcquisitionTimeout;
+
+    @Schema(
+        title = "The maximum amount of time that a connection should be allowed to remain open, regardless of usage frequency."
+    )
+    @PluginProperty
+    private Duration connectionTimeToLive;
+
+    @Schema(
+        title = "The maximum amount of time that a connection should be allowed to remain open while idle."
+    )
+    @PluginProperty
+    private Duration connectionMaxIdleTime;
+
+    @Schema(
+        title = "Whether to enable TCP keep-alive on the connections."
+    )
+    @PluginProperty
+    private Boolean tcpKeepAlive;
+
+    public SdkHttpClient.Builder<?> syncBuilder() {
+        if (this.type == SyncType.URL_CONNECTION) {
+            UrlConnectionHttpClient.Builder builder = UrlConnectionHttpClient.builder();
+
+            if (this.connectionTimeout != null) {
+                builder.connectionTimeout(this.connectionTimeout);
+            }
+
+            if (this.socketTimeout != null) {
+                builder.socketTimeout(this.socketTimeout);
+            }
+
+            return builder;
+        }
+
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder();
+
+        if (this.maxConnections != null) {
+            builder.maxConnections(this.maxConnections);
+        }
+
+        if (this.connectionTimeout != null) {
+            builder.connectionTimeout(this.connectionTimeout);
+        }
+
+        if (this.socketTimeout != null) {
+            builder.socketTimeout(this.socketTimeout);
+        }
+
+        if (this.connectionAcquisitionTimeout != null) {
+            builder.connectionAcquisitionTimeout(this.connectionAcquisitionTimeout);
+        }
+
+        if (this.connectionTimeToLive != null) {
+            builder.connectionTimeToLive(this.connectionTimeToLive);
+        }
+
+        if (this.connectionMaxIdleTime != null) {
+            builder.connectionMaxIdleTime(this.connectionMaxIdleTime);
+        }
+
+        if (this.tcpKeepAlive != null) {
+            builder.tcpKeepAlive(this.tcpKeepAlive);
+        }
+
+        return builder;
+    }
+
+    public SdkAsyncHttpClient.Builder<?> asyncBuilder() {
+        if (this.asyncType == AsyncType.CRT) {
+            AwsCrtAsyncHttpClient.Builder builder = AwsCrtAsyncHttpClient.builder();
+
+            if (this.maxConnections != null) {
+                builder.maxConcurrency(this.maxConnections);
+            }
+
+            if (this.connectionTimeout != null) {
+                builder.connectionTimeout(this.connectionTimeout);
+            }
+
+            if (this.connectionMaxIdleTime != null) {
+                builder.connectionMaxIdleTime(this.connectionMaxIdleTime);
+            }
+
+            if (Boolean.TRUE.equals(this.tcpKeepAlive)) {
+                builder.tcpKeepAliveConfiguration(keepAlive -> keepAlive
+                    .keepAliveInterval(CRT_KEEP_ALIVE_INTERVAL)
+                    .keepAliveTimeout(CRT_KEEP_ALIVE_INTERVAL)
+                );
+            }
+
+            return builder;
+        }
+
+        NettyNioAsyncHttpClient.Builder builder = NettyNioAsyncHttpClient.builder();
+
+        if (this.maxConnections != null) {
+            builder.maxConcurrency(this.maxConnections);
+        }
+
+        if (this.connectionTimeout != null) {
+            builder.connectionTimeout(this.connectionTimeout);
+        }
+
+        if (this.socketTimeout != null) {
+            builder.readTimeout(this.socketTimeout);
+            builder.writeTimeout(this.socketTimeout);
+        }
+
+        if (this.connectionAcquisitionTimeout != null) {
+            builder.connectionAcquisitionTimeout(this.connectionAcquisitionTimeout);
+        }
+
+        if (this.connectionTimeToLive != null) {
+            builder.connectionTimeToLive(this.connectionTimeToLive);
+        }
+
+        if (this.connectionMaxIdleTime != null) {
+            builder.connectionMaxIdleTime(this.connectionMaxIdleTime);
+        }
+
+        if (this.tcpKeepAlive != null) {
+            builder.tcpKeepAlive(this.tcpKeepAlive);
+        }
+
+        return builder;
+    }
+
+    public enum SyncType {
+        APACHE,
+        URL_CONNECTION
+    }
+
+    public enum AsyncType {
+        NETTY,
+        CRT
+    }
+}
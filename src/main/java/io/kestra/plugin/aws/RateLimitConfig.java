@@ -0,0 +1,40 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.jackson.Jacksonized;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+@Jacksonized
+public class RateLimitConfig {
+    @Schema(
+        title = "The maximum number of requests per second sent to a resource."
+    )
+    @PluginProperty
+    @NotNull
+    @Positive
+    private Double requestsPerSecond;
+
+    @Schema(
+        title = "The number of requests that can be sent at once after an idle period.",
+        description = "Defaults to one second of requests."
+    )
+    @PluginProperty
+    @Min(1)
+    private Integer burst;
+
+    public int burst() {
+        return this.burst != null ? this.burst : (int) Math.max(1, Math.ceil(this.requestsPerSecond));
+    }
+}
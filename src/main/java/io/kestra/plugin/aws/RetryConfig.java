@@ -0,0 +1,121 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.jackson.Jacksonized;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.EqualJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+
+import java.time.Duration;
+import javax.validation.constraints.Min;
+
+@Getter
+@Builder
+@ToString
+@EqualsAndHashCode
+@Jacksonized
+public class RetryConfig {
+    private static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(100);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(20);
+
+    @Schema(
+        title = "The retry mode.",
+        description = "`STANDARD` retries throttling and transient errors with an exponential backoff. " +
+            "`ADAPTIVE` also slows the client down when requests are throttled, which is recommended to drive a resource " +
+            "close to its provisioned capacity. `LEGACY` is the historical SDK behavior."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Mode mode = Mode.STANDARD;
+
+    @Schema(
+        title = "The maximum number of attempts for a request, the first one included.",
+        description = "Defaults to the mode default, 3 for `STANDARD` and `ADAPTIVE`."
+    )
+    @PluginProperty
+    @Min(1)
+    private Integer maxAttempts;
+
+    @Schema(
+        title = "The base delay of the exponential backoff between attempts.",
+        description = "If any of `baseDelay`, `maxBackoff` or `jitter` is set, the backoff is used for throttled requests too, " +
+            "otherwise the mode default backoffs are used. Defaults to 100 milliseconds."
+    )
+    @PluginProperty
+    private Duration baseDelay;
+
+    @Schema(
+        title = "The maximum delay between attempts.",
+        description = "Defaults to 20 seconds."
+    )
+    @PluginProperty
+    private Duration maxBackoff;
+
+    @Schema(
+        title = "The jitter applied to the backoff delay.",
+        description = "`FULL` waits a random delay up to the exponential delay, `EQUAL` at least half of it, " +
+            "`NONE` always waits `baseDelay`. Defaults to `FULL`."
+    )
+    @PluginProperty
+    private Jitter jitter;
+
+    public RetryPolicy retryPolicy() {
+        RetryPolicy.Builder builder = RetryPolicy.builder(this.mode.retryMode);
+
+        if (this.maxAttempts != null) {
+            builder.numRetries(this.maxAttempts - 1);
+        }
+
+        if (this.baseDelay != null || this.maxBackoff != null || this.jitter != null) {
+            BackoffStrategy backoffStrategy = this.backoffStrategy();
+
+            builder.backoffStrategy(backoffStrategy);
+            builder.throttlingBackoffStrategy(backoffStrategy);
+        }
+
+        return builder.build();
+    }
+
+    private BackoffStrategy backoffStrategy() {
+        Duration baseDelay = this.baseDelay != null ? this.baseDelay : DEFAULT_BASE_DELAY;
+        Duration maxBackoff = this.maxBackoff != null ? this.maxBackoff : DEFAULT_MAX_BACKOFF;
+
+        return switch (this.jitter != null ? this.jitter : Jitter.FULL) {
+            case FULL -> FullJitterBackoffStrategy.builder()
+                .baseDelay(baseDelay)
+                .maxBackoffTime(maxBackoff)
+                .build();
+            case EQUAL -> EqualJitterBackoffStrategy.builder()
+                .baseDelay(baseDelay)
+                .maxBackoffTime(maxBackoff)
+                .build();
+            case NONE -> FixedDelayBackoffStrategy.create(baseDelay);
+        };
+    }
+
+    public enum Mode {
+        STANDARD(RetryMode.STANDARD),
+        ADAPTIVE(RetryMode.ADAPTIVE),
+        LEGACY(RetryMode.LEGACY);
+
+        private final RetryMode retryMode;
+
+        Mode(RetryMode retryMode) {
+            this.retryMode = retryMode;
+        }
+    }
+
+    public enum Jitter {
+        FULL,
+        EQUAL,
+        NONE
+    }
+}
@@ -1,5 +1,6 @@
 package io.kestra.plugin.aws.athena;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
@@ -20,8 +21,6 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.tuple.Pair;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.athena.AthenaClient;
 import software.amazon.awssdk.services.athena.model.*;
 
@@ -210,18 +209,7 @@ public class Query extends AbstractConnection implements RunnableTask<Query.Quer
     }
 
     private AthenaClient client(RunContext runContext) throws IllegalVariableEvaluationException {
-        var builder = AthenaClient.builder()
-            .httpClient(ApacheHttpClient.create())
-            .credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            builder.region(Region.of(runContext.render(this.region)));
-        }
-        if (this.endpointOverride != null) {
-            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
-
-        return builder.build();
+        return this.client(runContext, AthenaClient.class, AthenaClient::builder);
     }
 
     public QueryExecutionStatistics waitForQueryToComplete(AthenaClient client, String queryExecutionId) throws InterruptedException {
@@ -297,7 +285,8 @@ public class Query extends AbstractConnection implements RunnableTask<Query.Quer
         return data;
     }
 
-    private Object mapCell(ColumnInfo columnInfo, Datum datum) {
+    @VisibleForTesting
+    Object mapCell(ColumnInfo columnInfo, Datum datum) {
         // We try our best to convert the result to a precise type as all data comes as a varchar.
         // See https://docs.aws.amazon.com/athena/latest/ug/data-types.html for the list of supported types.
         return switch (columnInfo.type()) {
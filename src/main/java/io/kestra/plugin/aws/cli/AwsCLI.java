@@ -16,6 +16,8 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -146,6 +148,15 @@ public class AwsCLI extends AbstractConnection implements RunnableTask<ScriptOut
         if (this.endpointOverride != null) {
             envs.put("AWS_ENDPOINT_URL", runContext.render(this.endpointOverride));
         }
+        if (this.stsRoleArn != null) {
+            // the CLI can't assume a role from environment variables, so we pass it the temporary credentials
+            AwsCredentials credentials = this.credentials(runContext).resolveCredentials();
+            envs.put("AWS_ACCESS_KEY_ID", credentials.accessKeyId());
+            envs.put("AWS_SECRET_ACCESS_KEY", credentials.secretAccessKey());
+            if (credentials instanceof AwsSessionCredentials sessionCredentials) {
+                envs.put("AWS_SESSION_TOKEN", sessionCredentials.sessionToken());
+            }
+        }
 
         envs.put("AWS_DEFAULT_OUTPUT", this.outputFormat.toString());
 
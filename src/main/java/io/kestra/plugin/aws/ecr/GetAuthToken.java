@@ -9,12 +9,9 @@ import io.kestra.plugin.aws.AbstractConnection;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ecr.EcrClient;
-import software.amazon.awssdk.services.ecr.EcrClientBuilder;
 import software.amazon.awssdk.services.ecr.model.AuthorizationData;
 
-import java.net.URI;
 import java.util.Base64;
 import java.util.List;
 
@@ -42,17 +39,7 @@ public class GetAuthToken extends AbstractConnection implements RunnableTask<Get
 
     @Override
     public TokenOutput run(RunContext runContext) throws Exception {
-        EcrClientBuilder ecrClientBuilder = EcrClient.builder().credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            ecrClientBuilder.region(Region.of(runContext.render(this.region)));
-        }
-
-        if (this.endpointOverride != null) {
-            ecrClientBuilder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
-
-        try (EcrClient client = ecrClientBuilder.build()) {
+        try (EcrClient client = this.client(runContext, EcrClient.class, EcrClient::builder)) {
             List<AuthorizationData> authorizationData = client.getAuthorizationToken().authorizationData();
 
             String encodedToken = authorizationData.get(0).authorizationToken();
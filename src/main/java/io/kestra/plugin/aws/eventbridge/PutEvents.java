@@ -3,6 +3,7 @@ package io.kestra.plugin.aws.eventbridge;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
@@ -21,13 +22,13 @@ import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.io.*;
 import java.net.URI;
@@ -81,6 +82,8 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
     title = "Send multiple custom events to Amazon EventBridge so that they can be matched to rules."
 )
 public class PutEvents extends AbstractConnection implements RunnableTask<PutEvents.Output> {
+    private static final int MAX_ENTRIES_PER_REQUEST = 10;
+
     private static final ObjectMapper MAPPER = JacksonMapper.ofIon()
         .setSerializationInclusion(JsonInclude.Include.ALWAYS);
 
@@ -102,6 +105,15 @@ public class PutEvents extends AbstractConnection implements RunnableTask<PutEve
     )
     private Object entries;
 
+    @Min(1)
+    @Schema(
+        title = "Maximum number of requests sent at the same time.",
+        description = "Events are sent in batches of 10, the maximum accepted by a single request."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Integer concurrent = 1;
+
     @Override
     public PutEvents.Output run(RunContext runContext) throws Exception {
         final long start = System.nanoTime();
@@ -151,31 +163,30 @@ public class PutEvents extends AbstractConnection implements RunnableTask<PutEve
     }
 
     private PutEventsResponse putEvents(RunContext runContext, List<Entry> entryList) throws Exception {
-        try (var eventBridgeClient = client(runContext)) {
+        try (var eventBridgeClient = asyncClient(runContext)) {
             List<PutEventsRequestEntry> requestEntries = entryList.stream()
                 .map(throwFunction(entry -> entry.toRequestEntry(runContext)))
                 .collect(Collectors.toList());
 
-            PutEventsRequest eventsRequest = PutEventsRequest.builder()
-                .entries(requestEntries)
-                .build();
+            // concatMapEager keeps the responses in the order of the entries
+            List<PutEventsResponse> responses = Flowable.fromIterable(Lists.partition(requestEntries, MAX_ENTRIES_PER_REQUEST))
+                .concatMapEager(
+                    batch -> single(() -> eventBridgeClient.putEvents(PutEventsRequest.builder().entries(batch).build())).toFlowable(),
+                    this.concurrent,
+                    1
+                )
+                .toList()
+                .blockingGet();
 
-            return eventBridgeClient.putEvents(eventsRequest);
+            return PutEventsResponse.builder()
+                .failedEntryCount(responses.stream().mapToInt(PutEventsResponse::failedEntryCount).sum())
+                .entries(responses.stream().flatMap(response -> response.entries().stream()).collect(Collectors.toList()))
+                .build();
         }
     }
 
-    protected EventBridgeClient client(RunContext runContext) throws IllegalVariableEvaluationException {
-        var builder = EventBridgeClient.builder()
-            .credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            builder.region(Region.of(runContext.render(this.region)));
-        }
-        if (this.endpointOverride != null) {
-            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
-
-        return builder.build();
+    protected EventBridgeAsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.client(runContext, EventBridgeAsyncClient.class, EventBridgeAsyncClient::builder);
     }
 
     @SuppressWarnings("unchecked")
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
@@ -22,13 +23,12 @@ import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.kinesis.KinesisClient;
-import software.amazon.awssdk.services.kinesis.KinesisClientBuilder;
+import software.amazon.awssdk.services.kinesis.KinesisAsyncClient;
 import software.amazon.awssdk.services.kinesis.model.PutRecordsRequest;
 import software.amazon.awssdk.services.kinesis.model.PutRecordsRequestEntry;
 import software.amazon.awssdk.services.kinesis.model.PutRecordsResponse;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.io.*;
 import java.net.URI;
@@ -77,6 +77,8 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
     title = "Send multiple records to Amazon Kinesis Data Streams."
 )
 public class PutRecords extends AbstractConnection implements RunnableTask<PutRecords.Output> {
+    private static final int MAX_RECORDS_PER_REQUEST = 500;
+
     private static final ObjectMapper MAPPER = JacksonMapper.ofIon()
         .setSerializationInclusion(JsonInclude.Include.ALWAYS);
 
@@ -112,6 +114,16 @@ public class PutRecords extends AbstractConnection implements RunnableTask<PutRe
     @NotNull
     private Object records;
 
+    @Min(1)
+    @Schema(
+        title = "Maximum number of requests sent at the same time.",
+        description = "Records are sent in batches of 500, the maximum accepted by a single request. " +
+            "Records with the same partition key may be written out of order when greater than 1."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Integer concurrent = 1;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         final long start = System.nanoTime();
@@ -142,7 +154,7 @@ public class PutRecords extends AbstractConnection implements RunnableTask<PutRe
     }
 
     private PutRecordsResponse putRecords(RunContext runContext, List<Record> records) throws IllegalVariableEvaluationException {
-        try (KinesisClient client = client(runContext)) {
+        try (KinesisAsyncClient client = asyncClient(runContext)) {
             PutRecordsRequest.Builder builder = PutRecordsRequest.builder();
 
             if (!Strings.isNullOrEmpty(streamArn)) {
@@ -153,14 +165,26 @@ public class PutRecords extends AbstractConnection implements RunnableTask<PutRe
                 throw new IllegalArgumentException("Either streamName or streamArn has to be set.");
             }
 
+            PutRecordsRequest request = builder.build();
 
             List<PutRecordsRequestEntry> putRecordsRequestEntryList = records.stream()
                 .map(throwFunction(record -> record.toPutRecordsRequestEntry(runContext)))
                 .collect(Collectors.toList());
 
-
-            builder.records(putRecordsRequestEntryList);
-            return client.putRecords(builder.build());
+            // concatMapEager keeps the responses in the order of the records
+            List<PutRecordsResponse> responses = Flowable.fromIterable(Lists.partition(putRecordsRequestEntryList, MAX_RECORDS_PER_REQUEST))
+                .concatMapEager(
+                    batch -> single(() -> client.putRecords(request.toBuilder().records(batch).build())).toFlowable(),
+                    this.concurrent,
+                    1
+                )
+                .toList()
+                .blockingGet();
+
+            return PutRecordsResponse.builder()
+                .failedRecordCount(responses.stream().mapToInt(PutRecordsResponse::failedRecordCount).sum())
+                .records(responses.stream().flatMap(response -> response.records().stream()).collect(Collectors.toList()))
+                .build();
         }
     }
 
@@ -200,18 +224,8 @@ public class PutRecords extends AbstractConnection implements RunnableTask<PutRe
         return tempFile;
     }
 
-    protected KinesisClient client(RunContext runContext) throws IllegalVariableEvaluationException {
-        KinesisClientBuilder builder = KinesisClient.builder()
-            .credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            builder.region(Region.of(runContext.render(this.region)));
-        }
-        if (this.endpointOverride != null) {
-            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
-
-        return builder.build();
+    protected KinesisAsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.client(runContext, KinesisAsyncClient.class, KinesisAsyncClient::builder);
     }
 
     @Builder
@@ -3,17 +3,19 @@ package io.kestra.plugin.aws.s3;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.aws.AbstractConnection;
+import io.kestra.plugin.aws.HttpClientConfig;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.*;
 
 import java.net.URI;
 
+import static io.kestra.core.utils.Rethrow.throwSupplier;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
@@ -22,25 +24,32 @@ import java.net.URI;
 public abstract class AbstractS3 extends AbstractConnection {
 
     protected S3Client client(RunContext runContext) throws IllegalVariableEvaluationException {
-        S3ClientBuilder s3ClientBuilder = S3Client.builder()
-            .httpClient(ApacheHttpClient.create())
-            .credentialsProvider(this.credentials(runContext));
+        return this.client(runContext, S3Client.class, S3Client::builder);
+    }
 
-        if (this.region != null) {
-            s3ClientBuilder.region(Region.of(runContext.render(this.region)));
-        }
+    protected S3AsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.asyncClient(runContext, null);
+    }
 
-        if (this.endpointOverride != null) {
-            s3ClientBuilder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
+    /**
+     * An async client tuned by the {@code transfer} options, clients with different options are not shared.
+     */
+    protected S3AsyncClient asyncClient(RunContext runContext, TransferInterface transfer) throws IllegalVariableEvaluationException {
+        if (Boolean.TRUE.equals(this.getCompatibilityMode())) {
+            return this.client(runContext, S3AsyncClient.class, S3AsyncClient::builder);
         }
 
-        return s3ClientBuilder.build();
-    }
-
-    protected S3AsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        String name = transfer == null ? "S3CrtAsyncClient" : String.join(
+            "|",
+            "S3CrtAsyncClient",
+            String.valueOf(transfer.getTargetThroughputInGbps()),
+            String.valueOf(transfer.getMinimumPartSizeInBytes()),
+            String.valueOf(transfer.getMaxConcurrency()),
+            String.valueOf(transfer.getInitialReadBufferSizeInBytes())
+        );
 
-        if (this.getCompatibilityMode()) {
-            S3AsyncClientBuilder s3ClientBuilder = S3AsyncClient.builder()
+        return this.client(runContext, S3AsyncClient.class, name, throwSupplier(() -> {
+            S3CrtAsyncClientBuilder s3ClientBuilder = S3AsyncClient.crtBuilder()
                 .credentialsProvider(this.credentials(runContext));
 
             if (this.region != null) {
@@ -50,22 +59,40 @@ public abstract class AbstractS3 extends AbstractConnection {
             if (this.endpointOverride != null) {
                 s3ClientBuilder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
             }
-            return s3ClientBuilder.build();
 
-        } else {
-            S3CrtAsyncClientBuilder s3ClientBuilder = S3AsyncClient.crtBuilder()
-                .credentialsProvider(this.credentials(runContext));
+            HttpClientConfig httpClientConfig = this.httpClientConfig();
+            if (httpClientConfig.getMaxConnections() != null) {
+                s3ClientBuilder.maxConcurrency(httpClientConfig.getMaxConnections());
+            }
 
-            if (this.region != null) {
-                s3ClientBuilder.region(Region.of(runContext.render(this.region)));
+            if (httpClientConfig.getConnectionTimeout() != null) {
+                s3ClientBuilder.httpConfiguration(http -> http.connectionTimeout(httpClientConfig.getConnectionTimeout()));
             }
 
-            if (this.endpointOverride != null) {
-                s3ClientBuilder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
+            if (transfer != null) {
+                if (transfer.getTargetThroughputInGbps() != null) {
+                    s3ClientBuilder.targetThroughputInGbps(transfer.getTargetThroughputInGbps());
+                }
+
+                if (transfer.getMinimumPartSizeInBytes() != null) {
+                    s3ClientBuilder.minimumPartSizeInBytes(transfer.getMinimumPartSizeInBytes());
+                }
+
+                if (transfer.getMaxConcurrency() != null) {
+                    s3ClientBuilder.maxConcurrency(transfer.getMaxConcurrency());
+                }
+
+                if (transfer.getInitialReadBufferSizeInBytes() != null) {
+                    s3ClientBuilder.initialReadBufferSizeInBytes(transfer.getInitialReadBufferSizeInBytes());
+                }
             }
 
-            return s3ClientBuilder.build();
-        }
+            // the CRT client has its own retry strategy, only the number of attempts can be configured
+            if (this.retry != null && this.retry.getMaxAttempts() != null) {
+                s3ClientBuilder.retryConfiguration(retry -> retry.numRetries(this.retry.getMaxAttempts() - 1));
+            }
 
+            return s3ClientBuilder.build();
+        }));
     }
 }
@@ -7,7 +7,8 @@ import javax.validation.constraints.NotNull;
 
 public interface ActionInterface {
     @Schema(
-        title = "The action to perform on the retrieved files."
+        title = "The action to perform on the retrieved files.",
+        description = "`NONE` leaves the files in place, in which case a trigger must be `incremental` to not detect them again."
     )
     @PluginProperty(dynamic = true)
     @NotNull
@@ -21,6 +22,7 @@ public interface ActionInterface {
 
     enum Action {
         MOVE,
-        DELETE
+        DELETE,
+        NONE
     }
 }
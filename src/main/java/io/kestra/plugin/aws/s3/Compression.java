@@ -0,0 +1,140 @@
+package io.kestra.plugin.aws.s3;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum Compression {
+    NONE(null),
+    GZIP("gzip"),
+    ZSTD("zstd"),
+    // no standard encoding exists for the framing format of snappy
+    SNAPPY("x-snappy-framed");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contentEncoding;
+
+    Compression(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * The value of the {@code Content-Encoding} header of the compressed objects.
+     */
+    String contentEncoding() {
+        return this.contentEncoding;
+    }
+
+    OutputStream compress(OutputStream outputStream) throws IOException {
+        return switch (this) {
+            case NONE -> outputStream;
+            case GZIP -> new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(outputStream);
+            case SNAPPY -> new SnappyFramedOutputStream(outputStream);
+        };
+    }
+
+    InputStream decompress(InputStream inputStream) throws IOException {
+        return switch (this) {
+            case NONE -> inputStream;
+            case GZIP -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStream(inputStream);
+            case SNAPPY -> new SnappyFramedInputStream(inputStream);
+        };
+    }
+
+    /**
+     * The compressed content of {@code inputStream}, compressed as it is read.
+     */
+    InputStream compressing(InputStream inputStream) throws IOException {
+        if (this == NONE) {
+            return inputStream;
+        }
+
+        return new CompressingInputStream(inputStream, this);
+    }
+
+    /**
+     * Pulls chunks of the source through the compressor, on the thread of the reader, so a failure of the source fails
+     * the read rather than ending the compressed stream.
+     */
+    private static class CompressingInputStream extends InputStream {
+        private final InputStream source;
+        private final Buffer buffer = new Buffer();
+        private final OutputStream compressor;
+        private final byte[] chunk = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+        private int position = 0;
+        private boolean finished = false;
+
+        private CompressingInputStream(InputStream source, Compression compression) throws IOException {
+            this.source = source;
+            this.compressor = compression.compress(this.buffer);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return this.read(this.single, 0, 1) < 0 ? -1 : this.single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (this.position >= this.buffer.size()) {
+                if (this.finished) {
+                    return -1;
+                }
+
+                this.fill();
+            }
+
+            int read = Math.min(len, this.buffer.size() - this.position);
+            System.arraycopy(this.buffer.bytes(), this.position, b, off, read);
+            this.position += read;
+
+            return read;
+        }
+
+        private void fill() throws IOException {
+            this.buffer.reset();
+            this.position = 0;
+
+            int read = this.source.read(this.chunk);
+            if (read < 0) {
+                // flush the trailer of the compressed stream
+                this.compressor.close();
+                this.finished = true;
+            } else {
+                this.compressor.write(this.chunk, 0, read);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (this.source) {
+                if (!this.finished) {
+                    // release the native resources of the compressor
+                    this.compressor.close();
+                }
+            }
+        }
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+        private byte[] bytes() {
+            return this.buf;
+        }
+    }
+}
@@ -10,7 +10,8 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
-import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectResult;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 
 @SuperBuilder
 @ToString
@@ -71,27 +72,21 @@ public class Copy extends AbstractS3 implements RunnableTask<Copy.Output> {
             }
 
             CopyObjectRequest request = builder.build();
-            CopyObjectResponse response = client.copyObject(request);
+            CopyObjectResult result = S3Service.copy(client, request, null);
 
             if (this.delete) {
-                Delete.builder()
-                    .id(this.id)
-                    .type(Delete.class.getName())
-                    .region(this.region)
-                    .endpointOverride(this.endpointOverride)
-                    .accessKeyId(this.accessKeyId)
-                    .secretKeyId(this.secretKeyId)
+                client.deleteObject(DeleteObjectRequest.builder()
                     .bucket(request.sourceBucket())
                     .key(request.sourceKey())
                     .build()
-                    .run(runContext);
+                );
             }
 
             return Output
                 .builder()
                 .bucket(request.destinationBucket())
                 .key(request.destinationKey())
-                .eTag(response.copyObjectResult().eTag())
+                .eTag(result.eTag())
                 .build();
         }
     }
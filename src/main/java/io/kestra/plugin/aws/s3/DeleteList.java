@@ -4,22 +4,23 @@ import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.flows.State;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.aws.s3.models.Failure;
 import io.kestra.plugin.aws.s3.models.S3Object;
-import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
-import io.reactivex.functions.Function;
-import io.reactivex.schedulers.Schedulers;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import javax.validation.constraints.Min;
 
 @SuperBuilder
@@ -55,6 +56,10 @@ public class DeleteList extends AbstractS3Object implements RunnableTask<DeleteL
     @Builder.Default
     private Integer maxKeys = 1000;
 
+    private Integer maxObjects;
+
+    private String inventoryManifest;
+
     private String expectedBucketOwner;
 
     protected String regexp;
@@ -64,7 +69,9 @@ public class DeleteList extends AbstractS3Object implements RunnableTask<DeleteL
 
     @Min(2)
     @Schema(
-        title = "Number of concurrent parallels deletion"
+        title = "Number of concurrent parallels deletion",
+        description = "Keys are deleted by batches of 1000 with a `DeleteObjects` request, this is the number of requests in flight. " +
+            "Each parallel deletion holds a connection, so `httpClient.maxConnections` should be at least this value."
     )
     @PluginProperty
     private Integer concurrent;
@@ -76,43 +83,46 @@ public class DeleteList extends AbstractS3Object implements RunnableTask<DeleteL
     @Builder.Default
     private final Boolean errorOnEmpty = false;
 
+    @Schema(
+        title = "Whether to fail the task if some keys couldn't be deleted.",
+        description = "Otherwise, the keys that couldn't be deleted are reported in `failures` and the task ends in `WARNING`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean errorOnFailure = true;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
         String bucket = runContext.render(this.bucket);
-
+        String requestPayer = runContext.render(this.requestPayer);
 
         try (S3Client client = this.client(runContext)) {
-            Flowable<S3Object> flowable = Flowable
-                .create(emitter -> {
-                    S3Service
-                        .list(runContext, client, this, this)
-                            .forEach(emitter::onNext);
-
-                    emitter.onComplete();
-                }, BackpressureStrategy.BUFFER);
-
-            Flowable<Long> result;
-
-            if (this.concurrent != null) {
-                result = flowable
-                    .parallel(this.concurrent)
-                    .runOn(Schedulers.io())
-                    .map(delete(logger, client, bucket))
-                    .sequential();
-            } else {
-                result = flowable
-                    .map(delete(logger, client, bucket));
-            }
-
-            Pair<Long, Long> finalResult = result
-                .reduce(Pair.of(0L, 0L), (pair, size) -> Pair.of(pair.getLeft() + 1, pair.getRight() + size))
+            Flowable<S3Object> flowable = S3Service.stream(runContext, client, this, this)
+                .doOnNext(o -> logger.debug("Deleting '{}'", o.getKey()));
+
+            java.util.List<Failure> failures = new ArrayList<>();
+            Pair<Long, Long> finalResult = S3Service
+                .delete(client, bucket, requestPayer, flowable, this.concurrent != null ? this.concurrent : 1)
+                .doOnNext(batch -> failures.addAll(batch.failures()))
+                .reduce(Pair.of(0L, 0L), (pair, batch) -> Pair.of(pair.getLeft() + batch.count(), pair.getRight() + batch.size()))
                 .blockingGet();
 
             runContext.metric(Counter.of("count", finalResult.getLeft()));
             runContext.metric(Counter.of("size", finalResult.getRight()));
 
-            if (errorOnEmpty && finalResult.getLeft() == 0) {
+            if (!failures.isEmpty()) {
+                runContext.metric(Counter.of("failures", failures.size()));
+                failures.forEach(failure -> logger.warn("Unable to delete '{}': {}", failure.getKey(), failure.getMessage()));
+
+                if (this.errorOnFailure) {
+                    throw new IOException("Unable to delete " + failures.size() + " key(s) from '" + bucket + "', first error on '" +
+                        failures.get(0).getKey() + "': " + failures.get(0).getMessage()
+                    );
+                }
+            }
+
+            if (errorOnEmpty && finalResult.getLeft() == 0 && failures.isEmpty()) {
                 throw new NoSuchElementException("Unable to find any files to delete on " +
                     runContext.render(this.bucket) + " " +
                     "with regexp='" + runContext.render(this.regexp) + "', " +
@@ -126,25 +136,11 @@ public class DeleteList extends AbstractS3Object implements RunnableTask<DeleteL
                 .builder()
                 .count(finalResult.getLeft())
                 .size(finalResult.getRight())
+                .failures(failures)
                 .build();
         }
     }
 
-    private static Function<S3Object, Long> delete(Logger logger, S3Client client, String bucket) {
-        return o -> {
-            logger.debug("Deleting '{}'", o.getKey());
-
-            DeleteObjectRequest.Builder builder = DeleteObjectRequest.builder()
-                .bucket(bucket)
-                .key(o.getKey());
-
-            client.deleteObject(builder.build());
-
-
-            return o.getSize();
-        };
-    }
-
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -159,5 +155,15 @@ public class DeleteList extends AbstractS3Object implements RunnableTask<DeleteL
             title = "The size of all blobs deleted"
         )
         private final long size = 0;
+
+        @Schema(
+            title = "The keys that couldn't be deleted, when `errorOnFailure` is disabled."
+        )
+        private final java.util.List<Failure> failures;
+
+        @Override
+        public Optional<State.Type> finalState() {
+            return this.failures != null && !this.failures.isEmpty() ? Optional.of(State.Type.WARNING) : io.kestra.core.models.tasks.Output.super.finalState();
+        }
     }
 }
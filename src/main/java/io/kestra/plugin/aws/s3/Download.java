@@ -3,19 +3,37 @@ package io.kestra.plugin.aws.s3;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.tuple.Pair;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import javax.validation.constraints.Min;
 
 @SuperBuilder
 @ToString
@@ -32,13 +50,39 @@ import java.util.Map;
                 "bucket: \"my-bucket\"",
                 "key: \"path/to/file\""
             }
+        ),
+        @Example(
+            title = "Download a reference file at each execution, from the cache of the worker while unchanged.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "key: \"reference/countries.csv\"",
+                "cache: true"
+            }
+        ),
+        @Example(
+            title = "Download a gzipped CSV export, decompressed in the internal storage.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "key: \"exports/customers.csv.gz\"",
+                "decompression: GZIP"
+            }
         )
     }
 )
 @Schema(
     title = "Download a file to a S3 bucket."
 )
-public class Download extends AbstractS3Object implements RunnableTask<Download.Output> {
+public class Download extends AbstractS3Object implements RunnableTask<Download.Output>, TransferInterface {
+    private static final String CACHE_DIRECTORY = "kestra-s3-cache";
+    // the ranged GET requests in flight when `concurrent` isn't set, each one holds a connection
+    private static final int DEFAULT_RANGES_CONCURRENCY = 8;
+
     @Schema(
         title = "The key where to download the file."
     )
@@ -58,38 +102,286 @@ public class Download extends AbstractS3Object implements RunnableTask<Download.
     @Builder.Default
     private Boolean compatibilityMode = false;
 
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Schema(
+        title = "Only download a range of bytes of the object.",
+        description = "An HTTP range, like `bytes=0-1023` for the first KB or `bytes=-65536` for the last 64KB, or a list of " +
+            "ranges downloaded in parallel, `concurrent` at a time or 8 by default, and concatenated in their order into the " +
+            "downloaded file. The ranges of a list are all read from the same version of the object, the download fails " +
+            "if the object is overwritten in the meantime.",
+        anyOf = {String.class, java.util.List.class}
+    )
+    @PluginProperty(dynamic = true)
+    private Object range;
+
+    @Schema(
+        title = "Download the object with this number of ranged GET requests in parallel.",
+        description = "The object is split in ranges of `partSize` bytes, written at their offset in the downloaded file. " +
+            "The CRT client already splits the downloads, this mostly speeds up the downloads in `compatibilityMode`. " +
+            "Also limits the ranges of a list of `range` downloaded at the same time. Each request in flight holds a " +
+            "connection, so `httpClient.maxConnections` should be at least this value."
+    )
+    @PluginProperty
+    @Min(1)
+    private Integer concurrent;
+
+    @Schema(
+        title = "The size of the ranges of the parallel downloads, in bytes."
+    )
+    @PluginProperty
+    @Min(1)
+    @Builder.Default
+    private Long partSize = 16L * 1024 * 1024;
+
+    @Schema(
+        title = "Whether to validate the checksum of the parts of the parallel downloads.",
+        description = "The object is fetched by the parts of its multipart upload rather than by ranges of `partSize` bytes, " +
+            "and the checksum of each part is validated when the object was uploaded with a checksum algorithm."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean checksumValidation = false;
+
+    @Schema(
+        title = "Whether to keep the downloaded object in a cache local to the worker.",
+        description = "The cached object is reused by the next downloads of the same key, with the same endpoint and " +
+            "credentials, while its ETag is unchanged, checked with a conditional `HeadObject` request. " +
+            "Ignored when downloading a `range`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean cache = false;
+
+    @Schema(
+        title = "The maximum size of the cache of the worker, in bytes.",
+        description = "The least recently downloaded objects are evicted above this size. The tasks with the same " +
+            "maximum size share a cache, a task with another maximum size uses its own cache."
+    )
+    @PluginProperty
+    @Min(1)
+    @Builder.Default
+    private Long cacheMaxSizeInBytes = 10L * 1024 * 1024 * 1024;
+
+    @Schema(
+        title = "Decompress the object while downloading it.",
+        description = "The object is fetched with a single request and decompressed as it is written to the downloaded " +
+            "file, so it can't be used with `range`, `concurrent` or `cache`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Compression decompression = Compression.NONE;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         String bucket = runContext.render(this.bucket);
         String key = runContext.render(this.key);
 
-        try (S3AsyncClient client = this.asyncClient(runContext)) {
-            GetObjectRequest.Builder builder = GetObjectRequest.builder()
-                .bucket(bucket)
-                .key(key);
+        GetObjectRequest.Builder builder = GetObjectRequest.builder()
+            .bucket(bucket)
+            .key(key);
+
+        if (this.versionId != null) {
+            builder.versionId(runContext.render(this.versionId));
+        }
+
+        if (this.requestPayer != null) {
+            builder.requestPayer(runContext.render(this.requestPayer));
+        }
+
+        long start = System.nanoTime();
+        Pair<GetObjectResponse, URI> download;
+
+        if (this.decompression != Compression.NONE) {
+            if (this.range != null || this.concurrent != null || this.cache) {
+                throw new IllegalArgumentException("Invalid 'decompression' parameter, can't be used with 'range', 'concurrent' or 'cache'");
+            }
+
+            try (S3Client client = this.client(runContext)) {
+                download = this.decompressed(runContext, client, builder.build());
+            }
+        } else if (this.range != null) {
+            try (S3Client client = this.client(runContext)) {
+                download = this.ranges(runContext, client, builder.build());
+            }
+        } else if (this.cache) {
+            download = this.cached(runContext, builder.build());
+        } else {
+            Pair<GetObjectResponse, File> file = this.downloadFile(runContext, builder.build());
+            download = Pair.of(file.getLeft(), runContext.putTempFile(file.getRight()));
+        }
+
+        S3Service.throughput(runContext, download.getLeft().contentLength(), start);
+
+        return Output
+            .builder()
+            .uri(download.getRight())
+            .eTag(download.getLeft().eTag())
+            .contentLength(download.getLeft().contentLength())
+            .contentType(download.getLeft().contentType())
+            .metadata(download.getLeft().metadata())
+            .versionId(download.getLeft().versionId())
+            .build();
+    }
+
+    private Pair<GetObjectResponse, File> downloadFile(RunContext runContext, GetObjectRequest request) throws Exception {
+        if (this.concurrent != null) {
+            try (S3Client client = this.client(runContext)) {
+                Path file = runContext.tempFile(runContext.fileExtension(request.key()));
+                GetObjectResponse response = S3Service.parallelDownload(client, request, file, this.partSize, this.concurrent, this.checksumValidation);
+
+                runContext.metric(Counter.of("file.size", response.contentLength()));
+                return Pair.of(response, file.toFile());
+            }
+        }
+
+        try (
+            S3AsyncClient client = this.asyncClient(runContext, this);
+            S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()
+        ) {
+            return S3Service.downloadFile(runContext, transferManager, request);
+        }
+    }
+
+    /**
+     * Serve the object from the cache of the worker while unchanged, or download it and add it to the cache.
+     */
+    private Pair<GetObjectResponse, URI> cached(RunContext runContext, GetObjectRequest request) throws Exception {
+        // a cache per maximum size, so a task never evicts the files of a larger cache
+        S3DownloadCache cache = S3DownloadCache.of(
+            Path.of(System.getProperty("java.io.tmpdir"), CACHE_DIRECTORY, String.valueOf(this.cacheMaxSizeInBytes)),
+            this.cacheMaxSizeInBytes
+        );
+        // the cache is shared by the worker, the entries of other endpoints or credentials are never reused
+        String scope = digest(runContext.render(this.endpointOverride), this.credentialsKey(runContext));
+        Optional<S3DownloadCache.Entry> entry = cache.get(scope, request.bucket(), request.key(), request.versionId());
+
+        if (entry.isPresent() && this.unchanged(runContext, request, entry.get())) {
+            Path file = runContext.tempFile(runContext.fileExtension(request.key()));
 
-            if (this.versionId != null) {
-                builder.versionId(runContext.render(this.versionId));
+            // the file may have been evicted since the lookup
+            if (cache.copy(entry.get(), file)) {
+                runContext.metric(Counter.of("cache.hits", 1));
+                runContext.metric(Counter.of("file.size", entry.get().size()));
+
+                return Pair.of(entry.get().response(), runContext.putTempFile(file.toFile()));
             }
+        }
+
+        runContext.metric(Counter.of("cache.misses", 1));
+
+        Pair<GetObjectResponse, File> download = this.downloadFile(runContext, request);
+        cache.put(S3DownloadCache.Entry.of(scope, request, download.getLeft()), download.getRight().toPath());
+
+        return Pair.of(download.getLeft(), runContext.putTempFile(download.getRight()));
+    }
+
+    /**
+     * Whether the cached object is still readable with the credentials of this task and has the same ETag, checked even
+     * for a specific version so a cached file is never served to a task that isn't allowed to read it.
+     */
+    private boolean unchanged(RunContext runContext, GetObjectRequest request, S3DownloadCache.Entry entry) throws Exception {
+        try (S3Client client = this.client(runContext)) {
+            HeadObjectResponse response = client.headObject(HeadObjectRequest.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .versionId(request.versionId())
+                .requestPayer(request.requestPayerAsString())
+                .ifMatch(entry.eTag())
+                .build()
+            );
 
-            if (this.requestPayer != null) {
-                builder.requestPayer(runContext.render(this.requestPayer));
+            // some S3 compatible services ignore the condition
+            return entry.eTag().equals(response.eTag());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 412 || e.statusCode() == 404) {
+                return false;
             }
 
-            Pair<GetObjectResponse, URI> download = S3Service.download(runContext, client, builder.build());
-
-            return Output
-                .builder()
-                .uri(download.getRight())
-                .eTag(download.getLeft().eTag())
-                .contentLength(download.getLeft().contentLength())
-                .contentType(download.getLeft().contentType())
-                .metadata(download.getLeft().metadata())
-                .versionId(download.getLeft().versionId())
-                .build();
+            throw e;
+        }
+    }
+
+    /**
+     * Download the object with a single request, decompressed as it is written to the downloaded file.
+     */
+    private Pair<GetObjectResponse, URI> decompressed(RunContext runContext, S3Client client, GetObjectRequest request) throws Exception {
+        Path file = runContext.tempFile(runContext.fileExtension(request.key()));
+
+        try (
+            ResponseInputStream<GetObjectResponse> inputStream = client.getObject(request);
+            InputStream decompressed = this.decompression.decompress(inputStream)
+        ) {
+            long size = Files.copy(decompressed, file, StandardCopyOption.REPLACE_EXISTING);
+
+            runContext.metric(Counter.of("file.size", size));
+            runContext.metric(Counter.of("file.size.compressed", inputStream.response().contentLength()));
+
+            return Pair.of(
+                inputStream.response().toBuilder().contentLength(size).build(),
+                runContext.putTempFile(file.toFile())
+            );
         }
     }
 
+    /**
+     * Download the {@code range}, or each of the ranges in parallel, written at their offset in the concatenation of
+     * the ranges in their order. The first range gives the size of the object, and the other ranges are pinned to its
+     * ETag, so an object overwritten during the download fails it rather than mixing the content of two versions.
+     */
+    private Pair<GetObjectResponse, URI> ranges(RunContext runContext, S3Client client, GetObjectRequest request) throws Exception {
+        java.util.List<String> ranges = new ArrayList<>();
+        if (this.range instanceof Collection<?> list) {
+            for (Object range : list) {
+                ranges.add(runContext.render(range.toString()));
+            }
+        } else {
+            ranges.add(runContext.render(this.range.toString()));
+        }
+
+        Path file = runContext.tempFile(runContext.fileExtension(request.key()));
+        GetObjectResponse first = S3Service.writePart(client, request.toBuilder().range(ranges.get(0)).build(), file, 0);
+        long size = first.contentRange() != null ? S3Service.contentRange(first.contentRange())[1] : first.contentLength();
+
+        long[] offsets = new long[ranges.size() + 1];
+        for (int i = 0; i < ranges.size(); i++) {
+            long[] range = S3Service.range(ranges.get(i), size);
+            offsets[i + 1] = offsets[i] + range[1] - range[0] + 1;
+        }
+
+        Flowable.range(1, ranges.size() - 1)
+            .flatMap(
+                index -> Flowable
+                    .fromCallable(() -> S3Service.writePart(
+                        client,
+                        request.toBuilder().range(ranges.get(index)).ifMatch(first.eTag()).build(),
+                        file,
+                        offsets[index]
+                    ))
+                    .subscribeOn(Schedulers.io()),
+                this.concurrent != null ? this.concurrent : DEFAULT_RANGES_CONCURRENCY
+            )
+            .blockingSubscribe();
+
+        long length = offsets[ranges.size()];
+        if (Files.size(file) != length) {
+            throw new IOException("Invalid download of '" + request.key() + "', " + Files.size(file) + " bytes written instead of " + length);
+        }
+
+        runContext.metric(Counter.of("file.size", length));
+
+        return Pair.of(
+            first.toBuilder().contentLength(length).build(),
+            runContext.putTempFile(file.toFile())
+        );
+    }
+
     @SuperBuilder
     @Getter
     public static class Output extends ObjectOutput implements io.kestra.core.models.tasks.Output {
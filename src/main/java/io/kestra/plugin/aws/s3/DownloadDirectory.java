@@ -0,0 +1,316 @@
+package io.kestra.plugin.aws.s3;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.hash.Hashing;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.aws.s3.models.Failure;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.CompletedDirectoryDownload;
+import software.amazon.awssdk.transfer.s3.model.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.model.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.model.FileDownload;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import javax.validation.constraints.NotNull;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    examples = {
+        @Example(
+            title = "Mirror a prefix to the internal storage, only the new and modified objects are downloaded on each execution.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "prefix: \"data/lake\""
+            }
+        )
+    }
+)
+@Schema(
+    title = "Download all the objects of a S3 prefix, skipping the ones unchanged since the previous execution.",
+    description = "The objects are downloaded in parallel with the transfer manager. The key, ETag, size and internal storage URI " +
+        "of the downloaded objects are kept in the task state: on the next execution, an object with the same ETag and size " +
+        "isn't downloaded again, its previous file is copied to the internal storage of the execution instead. " +
+        "The objects whose previous file was purged from the internal storage are downloaded again."
+)
+public class DownloadDirectory extends AbstractS3Object implements RunnableTask<DownloadDirectory.Output>, TransferInterface {
+    private static final String STATE = "s3-download-directory";
+
+    @Schema(
+        title = "The key prefix of the objects to download."
+    )
+    @PluginProperty(dynamic = true)
+    @NotNull
+    private String prefix;
+
+    @Schema(
+        title = "A regexp to filter on full key."
+    )
+    @PluginProperty(dynamic = true)
+    private String regexp;
+
+    @Schema(
+        title = "Whether to skip the objects that are unchanged since the previous execution.",
+        description = "If disabled, all the objects are downloaded, and the task state is still updated."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean skipUnchanged = true;
+
+    @Schema(
+        title = "Whether to fail the task as soon as an object can't be downloaded.",
+        description = "Otherwise, the failed objects are reported in `failures` and the task ends in `WARNING`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean errorOnFailure = true;
+
+    @Schema(
+        title = "This property will use the AWS S3 DefaultAsyncClient instead of the S3CrtAsyncClient, which maximizes compatibility with S3-compatible services but restricts uploads and downloads to 2GB."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean compatibilityMode = false;
+
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String bucket = runContext.render(this.bucket);
+        String prefix = S3Service.directoryPrefix(runContext.render(this.prefix));
+        String requestPayer = runContext.render(this.requestPayer);
+        Pattern regexp = this.regexp != null ? Pattern.compile(runContext.render(this.regexp)) : null;
+
+        String stateName = Hashing.sha256().hashString(bucket + "/" + prefix, StandardCharsets.UTF_8).toString();
+        Map<String, SyncedObject> previous = this.skipUnchanged ? this.readState(runContext, stateName) : Map.of();
+
+        // the objects listed by the transfer manager, either unchanged or to download
+        Map<String, SyncedObject> objects = new ConcurrentHashMap<>();
+        Set<String> downloaded = ConcurrentHashMap.newKeySet();
+        AtomicLong bytes = new AtomicLong();
+        java.util.List<Failure> failures = new ArrayList<>();
+
+        Path directory = Files.createTempDirectory(runContext.tempDir(), "download");
+
+        try (
+            S3AsyncClient client = this.asyncClient(runContext, this);
+            S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()
+        ) {
+            long start = System.nanoTime();
+
+            DownloadDirectoryRequest request = DownloadDirectoryRequest.builder()
+                .bucket(bucket)
+                .destination(directory)
+                .listObjectsV2RequestTransformer(list -> list
+                    .prefix(prefix.isEmpty() ? null : prefix)
+                    .requestPayer(requestPayer)
+                )
+                .downloadFileRequestTransformer(download -> download.getObjectRequest(download.build().getObjectRequest()
+                    .toBuilder()
+                    .requestPayer(requestPayer)
+                    .build()
+                ))
+                .filter(object -> {
+                    if (object.key().endsWith("/") || (regexp != null && !regexp.matcher(object.key()).matches())) {
+                        return false;
+                    }
+
+                    SyncedObject synced = previous.get(object.key());
+                    if (synced != null && synced.unchanged(object) && synced.uri() != null) {
+                        objects.put(object.key(), synced);
+                        return false;
+                    }
+
+                    objects.put(object.key(), new SyncedObject(object.eTag(), object.size(), null));
+                    downloaded.add(object.key());
+                    bytes.addAndGet(object.size());
+
+                    return true;
+                })
+                .build();
+
+            CompletedDirectoryDownload completed = transferManager.downloadDirectory(request)
+                .completionFuture()
+                .get();
+
+            java.util.List<Throwable> exceptions = new ArrayList<>();
+            completed.failedTransfers().forEach(failed -> {
+                String key = failed.request().getObjectRequest().key();
+                runContext.logger().warn("Unable to download '{}'", key, failed.exception());
+                failures.add(Failure.of(key, failed.exception().getMessage()));
+                exceptions.add(failed.exception());
+                objects.remove(key);
+                downloaded.remove(key);
+            });
+
+            // the unchanged objects are copied from the previous execution, or downloaded again once purged from it
+            Map<String, FileDownload> purged = new TreeMap<>();
+            for (Map.Entry<String, SyncedObject> entry : objects.entrySet()) {
+                String key = entry.getKey();
+                Path file = directory.resolve(key.substring(prefix.length()));
+                if (downloaded.contains(key) || this.copy(runContext, entry.getValue().uri(), file)) {
+                    continue;
+                }
+
+                purged.put(key, transferManager.downloadFile(DownloadFileRequest.builder()
+                    .getObjectRequest(object -> object
+                        .bucket(bucket)
+                        .key(key)
+                        .requestPayer(requestPayer)
+                    )
+                    .destination(file)
+                    .build()
+                ));
+            }
+
+            for (Map.Entry<String, FileDownload> entry : purged.entrySet()) {
+                String key = entry.getKey();
+                try {
+                    bytes.addAndGet(entry.getValue().completionFuture().get().response().contentLength());
+                    downloaded.add(key);
+                } catch (ExecutionException e) {
+                    runContext.logger().warn("Unable to download '{}'", key, e.getCause());
+                    failures.add(Failure.of(key, e.getCause().getMessage()));
+                    exceptions.add(e.getCause());
+                    objects.remove(key);
+                }
+            }
+
+            if (!failures.isEmpty() && this.errorOnFailure) {
+                throw new IOException("Unable to download " + failures.size() + " object(s) from '" + bucket + "', first error: " + failures.get(0).getMessage(), exceptions.get(0));
+            }
+
+            S3Service.throughput(runContext, bytes.get(), start);
+        }
+
+        for (String key : objects.keySet()) {
+            Path file = directory.resolve(key.substring(prefix.length()));
+            URI uri = runContext.putTempFile(file.toFile());
+
+            objects.computeIfPresent(key, (k, synced) -> new SyncedObject(synced.eTag(), synced.size(), uri));
+        }
+
+        this.writeState(runContext, stateName, objects);
+
+        runContext.metric(Counter.of("downloaded", downloaded.size()));
+        runContext.metric(Counter.of("skipped", objects.size() - downloaded.size()));
+        if (!failures.isEmpty()) {
+            runContext.metric(Counter.of("failures", failures.size()));
+        }
+
+        Map<String, URI> files = new TreeMap<>();
+        objects.forEach((key, synced) -> files.put(key.substring(prefix.length()), synced.uri()));
+
+        return Output.builder()
+            .files(files)
+            .downloaded(downloaded.stream().sorted().toList())
+            .failures(failures)
+            .build();
+    }
+
+    /**
+     * Copy the file of an object downloaded by a previous execution to {@code file}.
+     *
+     * @return false if the file was purged from the internal storage
+     */
+    private boolean copy(RunContext runContext, URI uri, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (InputStream inputStream = runContext.uriToInputStream(uri)) {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+
+            return true;
+        } catch (IOException e) {
+            runContext.logger().debug("Unable to read the previous file '{}', downloading it again", uri, e);
+            // the transfer manager requires a non existing file
+            Files.deleteIfExists(file);
+
+            return false;
+        }
+    }
+
+    private Map<String, SyncedObject> readState(RunContext runContext, String name) throws IOException {
+        try (InputStream inputStream = runContext.getTaskStateFile(STATE, name)) {
+            return JacksonMapper.ofJson().readValue(inputStream, new TypeReference<>() {});
+        } catch (FileNotFoundException e) {
+            return Map.of();
+        }
+    }
+
+    private void writeState(RunContext runContext, String name, Map<String, SyncedObject> objects) throws IOException {
+        Path file = runContext.tempFile(".json");
+        JacksonMapper.ofJson().writeValue(file.toFile(), new TreeMap<>(objects));
+
+        runContext.putTaskStateFile(file.toFile(), STATE, name);
+    }
+
+    /**
+     * The state of an object downloaded by a previous execution.
+     */
+    record SyncedObject(String eTag, Long size, URI uri) {
+        boolean unchanged(software.amazon.awssdk.services.s3.model.S3Object object) {
+            return Objects.equals(this.eTag, object.eTag()) && Objects.equals(this.size, object.size());
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The internal storage URI of all the objects under the prefix, by key relative to the prefix.",
+            description = "Includes the unchanged objects, with a copy of their previous download."
+        )
+        private final Map<String, URI> files;
+
+        @Schema(
+            title = "The keys of the objects downloaded by this execution, the new and modified ones.",
+            description = "Also includes the unchanged objects whose previous file was purged from the internal storage."
+        )
+        private final java.util.List<String> downloaded;
+
+        @Schema(
+            title = "The objects that couldn't be downloaded, when `errorOnFailure` is disabled."
+        )
+        private final java.util.List<Failure> failures;
+
+        @Override
+        public Optional<State.Type> finalState() {
+            return this.failures != null && !this.failures.isEmpty() ? Optional.of(State.Type.WARNING) : io.kestra.core.models.tasks.Output.super.finalState();
+        }
+    }
+}
@@ -1,23 +1,39 @@
 package io.kestra.plugin.aws.s3;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.flows.State;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.aws.s3.models.Failure;
 import io.kestra.plugin.aws.s3.models.S3Object;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.schedulers.Schedulers;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
 
 import java.net.URI;
-import java.util.stream.Collectors;
-
-import static io.kestra.core.utils.Rethrow.throwFunction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import javax.validation.constraints.Min;
 
 @SuperBuilder
 @ToString
@@ -40,7 +56,7 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
 @Schema(
     title = "Downloads multiple files from a S3 bucket."
 )
-public class Downloads extends AbstractS3Object implements RunnableTask<List.Output>, ListInterface, ActionInterface {
+public class Downloads extends AbstractS3Object implements RunnableTask<Downloads.Output>, ListInterface, ActionInterface, TransferInterface {
     private String prefix;
 
     private String delimiter;
@@ -52,6 +68,10 @@ public class Downloads extends AbstractS3Object implements RunnableTask<List.Out
     @Builder.Default
     private Integer maxKeys = 1000;
 
+    private Integer maxObjects;
+
+    private String inventoryManifest;
+
     @Schema(
         title = "This property will use the AWS S3 DefaultAsyncClient instead of the S3CrtAsyncClient, which maximizes compatibility with S3-compatible services but restricts uploads and downloads to 2GB."
     )
@@ -71,58 +91,201 @@ public class Downloads extends AbstractS3Object implements RunnableTask<List.Out
 
     private Copy.CopyObject moveTo;
 
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Schema(
+        title = "Number of objects downloaded in parallel.",
+        description = "All the downloads share the same transfer manager and client connections."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(1)
+    private Integer concurrent = 1;
+
+    @Schema(
+        title = "The maximum number of bytes downloaded at the same time.",
+        description = "Limits the disk and memory used by parallel downloads of large objects, based on the size of the listed objects. " +
+            "An object larger than this limit is downloaded alone."
+    )
+    @PluginProperty
+    @Min(1)
+    private Long maxBytesInFlight;
+
+    @Schema(
+        title = "Whether to fail the task as soon as an object can't be downloaded.",
+        description = "Otherwise, the failed objects are reported in `failures`, the task ends in `WARNING` and the `action` " +
+            "is only applied to the downloaded objects."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean errorOnFailure = true;
+
     @Override
-    public List.Output run(RunContext runContext) throws Exception {
-        List task = List.builder()
-            .id(this.id)
-            .type(List.class.getName())
-            .region(this.region)
-            .endpointOverride(this.endpointOverride)
-            .accessKeyId(this.accessKeyId)
-            .secretKeyId(this.secretKeyId)
-            .requestPayer(this.requestPayer)
-            .bucket(this.bucket)
-            .prefix(this.prefix)
-            .delimiter(this.delimiter)
-            .marker(this.marker)
-            .encodingType(this.encodingType)
-            .maxKeys(this.maxKeys)
-            .expectedBucketOwner(this.expectedBucketOwner)
-            .regexp(this.regexp)
-            .filter(this.filter)
+    public Output run(RunContext runContext) throws Exception {
+        ConcurrentLinkedQueue<Failure> failures = new ConcurrentLinkedQueue<>();
+        java.util.List<S3Object> list;
+
+        try (S3Client listClient = this.client(runContext)) {
+            // the downloads start with the first listed page
+            list = this.download(runContext, S3Service.stream(runContext, listClient, this, this), failures);
+        }
+
+        if (!failures.isEmpty()) {
+            runContext.metric(Counter.of("failures", failures.size()));
+        }
+
+        S3Service.archive(
+            list,
+            this.action,
+            this.moveTo,
+            runContext,
+            this,
+            this
+        );
+
+        return Output
+            .builder()
+            .objects(list)
+            .failures(new ArrayList<>(failures))
             .build();
-        List.Output run = task.run(runContext);
-
-        try (S3AsyncClient client = this.asyncClient(runContext)) {
-            java.util.List<S3Object> list = run
-                .getObjects()
-                .stream()
-                .map(throwFunction(object -> {
-                    GetObjectRequest.Builder builder = GetObjectRequest.builder()
-                        .bucket(runContext.render(bucket))
-                        .key(object.getKey());
-
-                    Pair<GetObjectResponse, URI> download = S3Service.download(runContext, client, builder.build());
-
-                    return object.withUri(download.getRight());
-                }))
-                .collect(Collectors.toList());
-
-
-            S3Service.archive(
-                run.getObjects(),
-                this.action,
-                this.moveTo,
-                runContext,
-                this,
-                this,
-                this
-            );
-
-            return List.Output
-                .builder()
-                .objects(list)
-                .build();
+    }
+
+    /**
+     * Download {@code objects} to the internal storage, {@code concurrent} at a time with a shared transfer manager,
+     * keeping their order. When {@code errorOnFailure} is disabled, the objects that can't be downloaded are left out
+     * and added to {@code failures}.
+     */
+    java.util.List<S3Object> download(RunContext runContext, Flowable<S3Object> objects, Collection<Failure> failures) throws Exception {
+        return this.download(runContext, objects, failures, throwable -> false);
+    }
+
+    /**
+     * Same as {@link #download(RunContext, Flowable, Collection)}, the objects failing with an exception matching
+     * {@code skipped} are left out without being reported as failures.
+     */
+    java.util.List<S3Object> download(RunContext runContext, Flowable<S3Object> objects, Collection<Failure> failures, Predicate<Throwable> skipped) throws Exception {
+        String bucket = runContext.render(this.bucket);
+        BytesInFlight bytesInFlight = this.maxBytesInFlight != null ? new BytesInFlight(this.maxBytesInFlight) : null;
+
+        try (
+            S3AsyncClient client = this.asyncClient(runContext, this);
+            S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()
+        ) {
+            long start = System.nanoTime();
+            AtomicLong bytes = new AtomicLong();
+
+            // downloads are blocking, run them on io threads while keeping the order
+            java.util.List<S3Object> list = objects
+                .concatMapEager(
+                    object -> Maybe
+                        .fromCallable(() -> {
+                            try {
+                                return this.download(runContext, transferManager, bucket, object, bytesInFlight, bytes);
+                            } catch (Exception e) {
+                                if (ExceptionUtils.getThrowableList(e).stream().anyMatch(skipped)) {
+                                    runContext.logger().warn("Skipping '{}': {}", object.getKey(), e.getMessage());
+
+                                    return null;
+                                }
+
+                                if (this.errorOnFailure) {
+                                    throw e;
+                                }
+
+                                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                                runContext.logger().warn("Unable to download '{}'", object.getKey(), cause);
+                                failures.add(Failure.of(object.getKey(), cause.getMessage()));
+
+                                return null;
+                            }
+                        })
+                        .toFlowable()
+                        .subscribeOn(Schedulers.io()),
+                    this.concurrent,
+                    1
+                )
+                .toList()
+                .blockingGet();
+
+            S3Service.throughput(runContext, bytes.get(), start);
+
+            return list;
+        }
+    }
+
+    private S3Object download(RunContext runContext, S3TransferManager transferManager, String bucket, S3Object object, BytesInFlight bytesInFlight, AtomicLong bytes) throws Exception {
+        int permits = bytesInFlight != null ? bytesInFlight.acquire(object.getSize()) : 0;
+
+        try {
+            GetObjectRequest.Builder builder = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(object.getKey());
+
+            if (this.requestPayer != null) {
+                builder.requestPayer(runContext.render(this.requestPayer));
+            }
+
+            Pair<GetObjectResponse, URI> download = S3Service.download(runContext, transferManager, builder.build());
+            bytes.addAndGet(download.getLeft().contentLength());
+
+            return object.withUri(download.getRight());
+        } finally {
+            if (bytesInFlight != null) {
+                bytesInFlight.release(permits);
+            }
+        }
+    }
+
+    /**
+     * Bounds the size of the objects being downloaded, in KB to fit in a semaphore.
+     */
+    private static class BytesInFlight {
+        private static final long UNIT = 1024;
+
+        private final int maxPermits;
+        private final Semaphore semaphore;
+
+        private BytesInFlight(long maxBytes) {
+            this.maxPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxBytes / UNIT));
+            this.semaphore = new Semaphore(this.maxPermits, true);
+        }
+
+        private int acquire(Long size) throws InterruptedException {
+            long units = size != null ? (size + UNIT - 1) / UNIT : 1;
+            int permits = (int) Math.min(this.maxPermits, Math.max(1, units));
+            this.semaphore.acquire(permits);
+
+            return permits;
+        }
+
+        private void release(int permits) {
+            this.semaphore.release(permits);
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @JsonInclude
+        @Schema(
+            title = "The list of downloaded S3 objects."
+        )
+        private final java.util.List<S3Object> objects;
+
+        @Schema(
+            title = "The objects that couldn't be downloaded, when `errorOnFailure` is disabled."
+        )
+        private final java.util.List<Failure> failures;
+
+        @Override
+        public Optional<State.Type> finalState() {
+            return this.failures != null && !this.failures.isEmpty() ? Optional.of(State.Type.WARNING) : io.kestra.core.models.tasks.Output.super.finalState();
         }
     }
 }
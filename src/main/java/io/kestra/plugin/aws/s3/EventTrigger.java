@@ -0,0 +1,450 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.ExecutionTrigger;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.aws.HttpClientConfig;
+import io.kestra.plugin.aws.RateLimitConfig;
+import io.kestra.plugin.aws.RetryConfig;
+import io.kestra.plugin.aws.s3.models.S3Object;
+import io.kestra.plugin.aws.sqs.Consume;
+import io.kestra.plugin.aws.sqs.SqsConnectionInterface;
+import io.reactivex.Flowable;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Wait for files on S3 bucket, notified by S3 events in a SQS queue.",
+    description = "Unlike the polling `Trigger`, the bucket is never listed: the bucket must send its `s3:ObjectCreated:*` " +
+        "event notifications to the SQS queue, directly or through a SNS topic, and the trigger receives them with long " +
+        "polling, so a new file starts an execution as soon as it is uploaded.\n" +
+        "The created files matching `prefix` and `regexp` are downloaded on internal storage and processed with the " +
+        "declared `action`, with the same output as the polling `Trigger`. The messages of the detected files are kept hidden " +
+        "from the other consumers while the files are downloaded, and are deleted from the queue once the files are processed. " +
+        "The other messages are left in the queue, unless `deleteUnmatched` is enabled.\n" +
+        "A file uploaded again before being detected is only detected once, and a file deleted before being detected is ignored."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Start an execution for each batch of files uploaded under a prefix.",
+            full = true,
+            code = {
+                "id: s3-events",
+                "namespace: io.kestra.tests",
+                "",
+                "tasks:",
+                "  - id: each",
+                "    type: io.kestra.core.tasks.flows.EachSequential",
+                "    tasks:",
+                "      - id: return",
+                "        type: io.kestra.core.tasks.debugs.Return",
+                "        format: \"{{ taskrun.value }}\"",
+                "    value: \"{{ trigger.objects | jq('.[].uri') }}\"",
+                "",
+                "triggers:",
+                "  - id: watch",
+                "    type: io.kestra.plugin.aws.s3.EventTrigger",
+                "    accessKeyId: \"<access-key>\"",
+                "    secretKeyId: \"<secret-key>\"",
+                "    region: \"eu-central-1\"",
+                "    queueUrl: \"https://sqs.eu-central-1.amazonaws.com/000000000000/my-bucket-events\"",
+                "    bucket: \"my-bucket\"",
+                "    prefix: \"sub-dir/\"",
+                "    action: MOVE",
+                "    moveTo: ",
+                "      key: archive",
+            }
+        )
+    }
+)
+public class EventTrigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<List.Output>, SqsConnectionInterface, AbstractS3ObjectInterface, ActionInterface, TransferInterface {
+    // the maximum number of messages received or deleted by a SQS request
+    private static final int SQS_BATCH = 10;
+
+    // extends the visibility of the messages while their files are processed, shared by all the triggers
+    private static final ScheduledExecutorService VISIBILITY = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "aws-s3-event-trigger-visibility");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Builder.Default
+    private final Duration interval = Duration.ofSeconds(1);
+
+    protected String accessKeyId;
+
+    protected String secretKeyId;
+
+    protected String sessionToken;
+
+    protected String region;
+
+    protected String endpointOverride;
+
+    protected String stsRoleArn;
+
+    protected String stsRoleExternalId;
+
+    protected String stsRoleSessionName;
+
+    protected Duration stsRoleSessionDuration;
+
+    protected String stsEndpointOverride;
+
+    protected String stsWebIdentityTokenFile;
+
+    protected HttpClientConfig httpClient;
+
+    protected RetryConfig retry;
+
+    protected RateLimitConfig rateLimit;
+
+    private String queueUrl;
+
+    @NotNull
+    protected String bucket;
+
+    protected String requestPayer;
+
+    @Schema(
+        title = "Only detect the files with a key starting with this prefix."
+    )
+    @PluginProperty(dynamic = true)
+    private String prefix;
+
+    @Schema(
+        title = "A regexp to filter on full key."
+    )
+    @PluginProperty(dynamic = true)
+    private String regexp;
+
+    @Schema(
+        title = "The maximum number of messages received for an execution.",
+        description = "A message can notify several files."
+    )
+    @PluginProperty
+    @Min(1)
+    @Builder.Default
+    private Integer maxRecords = 100;
+
+    @Schema(
+        title = "How long to wait for a message on each poll.",
+        description = "A message is received as soon as it is available, up to 20 seconds."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Duration waitTime = Duration.ofSeconds(20);
+
+    @Schema(
+        title = "How long the received messages are hidden from the other consumers of the queue.",
+        description = "The visibility of the messages of the detected files is extended by this duration every half of it, " +
+            "until the files are processed, so a long download doesn't deliver them again to another consumer."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Duration visibilityTimeout = Duration.ofSeconds(30);
+
+    @Schema(
+        title = "Whether to delete the messages without any detected file.",
+        description = "The messages that are not S3 events or whose files don't match `bucket`, `prefix` and `regexp` are left " +
+            "in the queue by default, for the other consumers of the queue: they become visible again after `visibilityTimeout`, " +
+            "until the redrive policy of the queue moves them. Enable it when the trigger is the only consumer of the queue."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean deleteUnmatched = false;
+
+    @Builder.Default
+    private ActionInterface.Action action = Action.NONE;
+
+    private Copy.CopyObject moveTo;
+
+    @Schema(
+        title = "Number of files downloaded in parallel.",
+        description = "All the downloads share the same transfer manager and client connections."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(1)
+    private Integer concurrent = 1;
+
+    @Schema(
+        title = "The maximum number of bytes downloaded at the same time.",
+        description = "Limits the disk and memory used by parallel downloads of large files, based on the size of the notified files. " +
+            "A file larger than this limit is downloaded alone."
+    )
+    @PluginProperty
+    @Min(1)
+    private Long maxBytesInFlight;
+
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+
+        String queueUrl = runContext.render(this.queueUrl);
+        String bucket = runContext.render(this.bucket);
+        String prefix = runContext.render(this.prefix);
+        Pattern regexp = this.regexp != null ? Pattern.compile(runContext.render(this.regexp)) : null;
+
+        Consume consume = Consume.builder()
+            .id(this.id)
+            .type(Consume.class.getName())
+            .connection(this)
+            .queueUrl(queueUrl)
+            .build();
+
+        try (SqsClient client = consume.client(runContext)) {
+            java.util.List<Message> messages = this.receive(client, queueUrl);
+
+            // the latest event of a key wins, a file uploaded twice is only detected once
+            Map<String, S3Object> created = new LinkedHashMap<>();
+            java.util.List<Message> matched = new ArrayList<>();
+            java.util.List<Message> unmatched = new ArrayList<>();
+            for (Message message : messages) {
+                java.util.List<S3Event.Created> events;
+                try {
+                    events = S3Event.created(message.body());
+                } catch (IOException e) {
+                    runContext.logger().warn("Ignoring message '{}' from '{}', not a S3 event", message.messageId(), queueUrl, e);
+                    unmatched.add(message);
+                    continue;
+                }
+
+                boolean match = false;
+                for (S3Event.Created event : events) {
+                    if (bucket.equals(event.bucket()) &&
+                        (prefix == null || event.object().getKey().startsWith(prefix)) &&
+                        (regexp == null || regexp.matcher(event.object().getKey()).matches())
+                    ) {
+                        created.remove(event.object().getKey());
+                        created.put(event.object().getKey(), event.object());
+                        match = true;
+                    }
+                }
+
+                (match ? matched : unmatched).add(message);
+            }
+
+            java.util.List<S3Object> objects = java.util.List.of();
+            if (!created.isEmpty()) {
+                long period = Math.max(this.visibilityTimeout.toMillis() / 2, 1000);
+                ScheduledFuture<?> extension = VISIBILITY.scheduleWithFixedDelay(
+                    () -> this.extend(runContext, client, queueUrl, matched),
+                    period,
+                    period,
+                    TimeUnit.MILLISECONDS
+                );
+
+                try {
+                    objects = this.download(runContext, created.values());
+
+                    if (!objects.isEmpty()) {
+                        S3Service.archive(
+                            objects,
+                            this.action,
+                            this.moveTo,
+                            runContext,
+                            this,
+                            this
+                        );
+                    }
+                } finally {
+                    extension.cancel(false);
+                }
+            }
+
+            // only once the files are safe, so a failure above delivers the messages again
+            this.delete(runContext, client, queueUrl, matched);
+
+            if (Boolean.TRUE.equals(this.deleteUnmatched)) {
+                this.delete(runContext, client, queueUrl, unmatched);
+            }
+
+            runContext.metric(Counter.of("messages", messages.size(), "queue", queueUrl));
+            runContext.metric(Counter.of("objects", objects.size(), "queue", queueUrl));
+
+            if (objects.isEmpty()) {
+                return Optional.empty();
+            }
+
+            ExecutionTrigger executionTrigger = ExecutionTrigger.of(
+                this,
+                List.Output.builder().objects(objects).build()
+            );
+            Execution execution = Execution.builder()
+                .id(runContext.getTriggerExecutionId())
+                .namespace(context.getNamespace())
+                .flowId(context.getFlowId())
+                .flowRevision(context.getFlowRevision())
+                .state(new State())
+                .trigger(executionTrigger)
+                .build();
+
+            return Optional.of(execution);
+        }
+    }
+
+    /**
+     * Wait for a first message, then receive the messages already available, up to {@code maxRecords}.
+     */
+    private java.util.List<Message> receive(SqsClient client, String queueUrl) {
+        java.util.List<Message> messages = new ArrayList<>();
+        int waitTimeSeconds = (int) Math.min(this.waitTime.toSeconds(), 20);
+
+        while (messages.size() < this.maxRecords) {
+            java.util.List<Message> received = client.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(Math.min(SQS_BATCH, this.maxRecords - messages.size()))
+                .waitTimeSeconds(messages.isEmpty() ? waitTimeSeconds : 0)
+                .visibilityTimeout((int) this.visibilityTimeout.toSeconds())
+                .build()
+            ).messages();
+
+            if (received.isEmpty()) {
+                break;
+            }
+
+            messages.addAll(received);
+        }
+
+        return messages;
+    }
+
+    private java.util.List<S3Object> download(RunContext runContext, Collection<S3Object> objects) throws Exception {
+        Downloads downloads = Downloads.builder()
+            .id(this.id)
+            .type(Downloads.class.getName())
+            .connection(this)
+            .requestPayer(this.requestPayer)
+            .bucket(this.bucket)
+            .concurrent(this.concurrent)
+            .maxBytesInFlight(this.maxBytesInFlight)
+            .targetThroughputInGbps(this.targetThroughputInGbps)
+            .minimumPartSizeInBytes(this.minimumPartSizeInBytes)
+            .maxConcurrency(this.maxConcurrency)
+            .initialReadBufferSizeInBytes(this.initialReadBufferSizeInBytes)
+            .build();
+
+        // a file deleted since its creation is ignored, the CRT client reports missing keys as a plain 404
+        return downloads.download(
+            runContext,
+            Flowable.fromIterable(objects),
+            new ArrayList<>(),
+            throwable -> throwable instanceof NoSuchKeyException ||
+                (throwable instanceof S3Exception s3Exception && s3Exception.statusCode() == 404)
+        );
+    }
+
+    /**
+     * Hide the messages for another {@code visibilityTimeout}, failures are only logged: the messages may then be
+     * delivered again to another consumer.
+     */
+    private void extend(RunContext runContext, SqsClient client, String queueUrl, java.util.List<Message> messages) {
+        try {
+            for (int i = 0; i < messages.size(); i += SQS_BATCH) {
+                java.util.List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>();
+                for (int j = i; j < Math.min(i + SQS_BATCH, messages.size()); j++) {
+                    entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                        .id(String.valueOf(j))
+                        .receiptHandle(messages.get(j).receiptHandle())
+                        .visibilityTimeout((int) this.visibilityTimeout.toSeconds())
+                        .build()
+                    );
+                }
+
+                ChangeMessageVisibilityBatchResponse response = client.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(entries)
+                    .build()
+                );
+
+                response.failed().forEach(failed -> runContext.logger().warn(
+                    "Unable to extend the visibility of message '{}' from '{}': {}",
+                    messages.get(Integer.parseInt(failed.id())).messageId(),
+                    queueUrl,
+                    failed.message()
+                ));
+            }
+        } catch (RuntimeException e) {
+            runContext.logger().warn("Unable to extend the visibility of the messages from '{}'", queueUrl, e);
+        }
+    }
+
+    private void delete(RunContext runContext, SqsClient client, String queueUrl, java.util.List<Message> messages) {
+        for (int i = 0; i < messages.size(); i += SQS_BATCH) {
+            java.util.List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>();
+            for (int j = i; j < Math.min(i + SQS_BATCH, messages.size()); j++) {
+                entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(j))
+                    .receiptHandle(messages.get(j).receiptHandle())
+                    .build()
+                );
+            }
+
+            DeleteMessageBatchResponse response = client.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build()
+            );
+
+            // the messages will be delivered again, and their files detected twice
+            response.failed().forEach(failed -> runContext.logger().warn(
+                "Unable to delete message '{}' from '{}': {}",
+                messages.get(Integer.parseInt(failed.id())).messageId(),
+                queueUrl,
+                failed.message()
+            ));
+        }
+    }
+}
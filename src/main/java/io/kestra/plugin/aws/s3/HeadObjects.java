@@ -0,0 +1,222 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    examples = {
+        @Example(
+            title = "Check the expected files of a bucket.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "from:",
+                "  - data/customers.csv",
+                "  - data/orders.csv"
+            }
+        ),
+        @Example(
+            title = "Check the keys of an ion file, like the one stored by a `List` task.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "from: \"{{ outputs.list.uri }}\"",
+                "concurrent: 32"
+            }
+        )
+    }
+)
+@Schema(
+    title = "Get the metadata of many objects of a S3 bucket, without their content.",
+    description = "The objects are requested with concurrent `HeadObject` calls on the same client, and their metadata " +
+        "is written to an ion file in the order of the keys. A missing object is written with `exists: false`."
+)
+public class HeadObjects extends AbstractS3Object implements RunnableTask<HeadObjects.Output> {
+    @Schema(
+        title = "The keys of the objects.",
+        description = "Can be a list of keys, or an internal storage URI of an ion file of keys, or of objects with a `key` " +
+            "field.",
+        anyOf = {String.class, java.util.List.class}
+    )
+    @PluginProperty(dynamic = true)
+    @NotNull
+    private Object from;
+
+    @Schema(
+        title = "Maximum number of objects requested at the same time.",
+        description = "Each request in flight holds a connection, so `httpClient.maxConnections` should be at least this value."
+    )
+    @PluginProperty
+    @Min(1)
+    @Builder.Default
+    private Integer concurrent = 16;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String bucket = runContext.render(this.bucket);
+        String requestPayer = runContext.render(this.requestPayer);
+
+        File tempFile = runContext.tempFile(".ion").toFile();
+        AtomicLong missing = new AtomicLong();
+        long count;
+
+        try (
+            S3Client client = this.client(runContext);
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))
+        ) {
+            if (this.from instanceof String from) {
+                URI uri = new URI(runContext.render(from));
+                if (!"kestra".equals(uri.getScheme())) {
+                    throw new IllegalArgumentException("Invalid 'from' parameter, must be a Kestra internal storage URI or a list of keys");
+                }
+
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.uriToInputStream(uri)))) {
+                    count = this.head(client, bucket, requestPayer, Flowable.create(FileSerde.reader(reader), BackpressureStrategy.BUFFER), outputStream, missing);
+                }
+            } else if (this.from instanceof Collection<?> keys) {
+                count = this.head(client, bucket, requestPayer, Flowable.fromIterable(runContext.render(keys.stream().map(Object::toString).toList())), outputStream, missing);
+            } else {
+                throw new IllegalArgumentException("Invalid 'from' parameter, must be a Kestra internal storage URI or a list of keys");
+            }
+        }
+
+        runContext.metric(Counter.of("records", count));
+        runContext.metric(Counter.of("missing", missing.get()));
+
+        return Output.builder()
+            .uri(runContext.putTempFile(tempFile))
+            .count(count)
+            .missing(missing.get())
+            .build();
+    }
+
+    private long head(S3Client client, String bucket, String requestPayer, Flowable<?> rows, OutputStream outputStream, AtomicLong missing) {
+        // requests are blocking, run them on io threads while keeping the order of the keys
+        return rows
+            .map(HeadObjects::key)
+            .concatMapEager(
+                key -> Flowable
+                    .fromCallable(() -> {
+                        try {
+                            return ObjectHead.of(key, client.headObject(HeadObjectRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .requestPayer(requestPayer)
+                                .build()
+                            ));
+                        } catch (S3Exception e) {
+                            if (e.statusCode() != 404) {
+                                throw e;
+                            }
+
+                            missing.incrementAndGet();
+
+                            return ObjectHead.builder().key(key).exists(false).build();
+                        }
+                    })
+                    .subscribeOn(Schedulers.io()),
+                this.concurrent,
+                1
+            )
+            .doOnNext(head -> FileSerde.write(outputStream, head))
+            .count()
+            .blockingGet();
+    }
+
+    private static String key(Object row) {
+        if (row instanceof Map<?, ?> map && map.get("key") != null) {
+            return map.get("key").toString();
+        }
+
+        if (row instanceof String key) {
+            return key;
+        }
+
+        throw new IllegalArgumentException("Invalid row '" + row + "', must be a key or an object with a `key` field");
+    }
+
+    @Builder
+    @Getter
+    public static class ObjectHead {
+        private final String key;
+        private final Boolean exists;
+        private final Long size;
+        private final String etag;
+        private final Instant lastModified;
+        private final String contentType;
+        private final String storageClass;
+        private final String versionId;
+        private final Map<String, String> metadata;
+
+        static ObjectHead of(String key, HeadObjectResponse response) {
+            return ObjectHead.builder()
+                .key(key)
+                .exists(true)
+                .size(response.contentLength())
+                .etag(response.eTag())
+                .lastModified(response.lastModified())
+                .contentType(response.contentType())
+                .storageClass(response.storageClassAsString())
+                .versionId(response.versionId())
+                .metadata(response.metadata())
+                .build();
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The URI of the ion file of the metadata of the objects."
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of requested objects."
+        )
+        private final Long count;
+
+        @Schema(
+            title = "The number of missing objects."
+        )
+        private final Long missing;
+    }
+}
@@ -3,15 +3,26 @@ package io.kestra.plugin.aws.s3;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.aws.s3.models.S3Object;
+import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import javax.validation.constraints.Min;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
@@ -27,6 +38,27 @@ import software.amazon.awssdk.services.s3.S3Client;
                 "bucket: \"my-bucket\"",
                 "prefix: \"sub-dir\""
             }
+        ),
+        @Example(
+            title = "List all the objects of a large bucket to an Ion file in the internal storage.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "fetchType: STORE"
+            }
+        ),
+        @Example(
+            title = "List a bucket with 100 millions of keys, 16 top level prefixes at a time.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "concurrent: 16",
+                "fetchType: STORE"
+            }
         )
     }
 )
@@ -45,6 +77,10 @@ public class List extends AbstractS3Object implements RunnableTask<List.Output>,
     @Builder.Default
     private Integer maxKeys = 1000;
 
+    private Integer maxObjects;
+
+    private String inventoryManifest;
+
     private String expectedBucketOwner;
 
     protected String regexp;
@@ -52,24 +88,78 @@ public class List extends AbstractS3Object implements RunnableTask<List.Output>,
     @Builder.Default
     protected final Filter filter = Filter.BOTH;
 
+    @Schema(
+        title = "The way the objects are returned.",
+        description = "`FETCH` returns the objects in the `objects` output, `STORE` writes them to an Ion file in the internal storage, " +
+            "without holding them in memory, and returns its `uri`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private FetchType fetchType = FetchType.FETCH;
+
+    @Schema(
+        title = "Number of partitions of the keyspace listed in parallel.",
+        description = "By default, the keys are listed sequentially. When set, the partitions are listed concurrently and their " +
+            "objects are merged as they are listed, so they aren't sorted by key. Can't be used with a `delimiter`."
+    )
+    @PluginProperty
+    @Min(1)
+    private Integer concurrent;
+
+    @Schema(
+        title = "The key prefixes of the partitions listed in parallel, when `concurrent` is set.",
+        description = "They replace `prefix` and must not overlap. By default, the partitions are the common prefixes one `/` level " +
+            "below `prefix`, so `prefix` should end with a `/`. For a flat keyspace, use prefixes splitting the keys, like `0` to `9` " +
+            "and `a` to `f` for keys starting with an hexadecimal hash."
+    )
+    @PluginProperty(dynamic = true)
+    private java.util.List<String> partitions;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         try (S3Client client = this.client(runContext)) {
-            java.util.List<S3Object> list = S3Service.list(runContext, client, this, this);
+            Flowable<S3Object> flowable = S3Service.stream(
+                runContext,
+                client,
+                this,
+                this,
+                this.partitions != null ? runContext.render(this.partitions) : null,
+                this.concurrent
+            );
+            Output.OutputBuilder output = Output.builder();
+            long count;
+
+            switch (this.fetchType) {
+                case FETCH -> {
+                    java.util.List<S3Object> list = flowable.toList().blockingGet();
+                    count = list.size();
+                    output.objects(list);
+                }
+                case STORE -> {
+                    File tempFile = runContext.tempFile(".ion").toFile();
+                    try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                        count = flowable
+                            .doOnNext(object -> FileSerde.write(outputStream, object))
+                            .count()
+                            .blockingGet();
+                    }
+
+                    output.uri(runContext.putTempFile(tempFile));
+                }
+                default -> throw new IllegalArgumentException("Invalid fetchType '" + this.fetchType + "', must be FETCH or STORE");
+            }
 
-            runContext.metric(Counter.of("size", list.size()));
+            runContext.metric(Counter.of("size", count));
 
             runContext.logger().debug(
                 "Found '{}' keys on {} with regexp='{}', prefix={}",
-                list.size(),
+                count,
                 runContext.render(bucket),
                 runContext.render(regexp),
                 runContext.render(prefix)
             );
 
-            return Output.builder()
-                .objects(list)
-                .build();
+            return output.build();
         }
     }
 
@@ -78,8 +168,15 @@ public class List extends AbstractS3Object implements RunnableTask<List.Output>,
     public static class Output implements io.kestra.core.models.tasks.Output {
         @JsonInclude
         @Schema(
-            title = "The list of S3 objects."
+            title = "The list of S3 objects.",
+            description = "Only populated if `fetchType=FETCH`."
         )
         private final java.util.List<S3Object> objects;
+
+        @Schema(
+            title = "The URI of the Ion file containing the S3 objects.",
+            description = "Only populated if `fetchType=STORE`."
+        )
+        private final URI uri;
     }
 }
@@ -3,6 +3,7 @@ package io.kestra.plugin.aws.s3;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 public interface ListInterface {
@@ -39,12 +40,20 @@ public interface ListInterface {
     String getEncodingType();
 
     @Schema(
-        title = "Sets the maximum number of keys returned in the response.",
-        description = "By default, the action returns up to 1,000 key names. The response might contain fewer keys but will never contain more."
+        title = "Sets the maximum number of keys returned by each listing request.",
+        description = "By default, each request returns up to 1,000 key names, the following pages are requested until all the keys are listed."
     )
     @PluginProperty(dynamic = true)
     Integer getMaxKeys();
 
+    @Schema(
+        title = "The maximum number of objects to list.",
+        description = "The listing stops once this number of objects matching `regexp` and `filter` is reached. By default, all the objects are listed."
+    )
+    @PluginProperty
+    @Min(1)
+    Integer getMaxObjects();
+
     @Schema(
         title = "The account ID of the expected bucket owner.",
         description = "If the bucket is owned by a different account, the request fails with the HTTP status code 403 Forbidden (access denied)."
@@ -61,6 +70,15 @@ public interface ListInterface {
     @PluginProperty(dynamic = true)
     String getRegexp();
 
+    @Schema(
+        title = "The S3 URI of an S3 Inventory `manifest.json` to read the objects from, instead of listing the bucket.",
+        description = "Like `s3://my-inventory-bucket/my-bucket/my-inventory/2023-01-01T00-00Z/manifest.json`. The inventory must be " +
+            "the one of `bucket`, in the CSV format. Only the current versions of the objects are read, `prefix`, `marker`, " +
+            "`regexp` and `filter` still apply, `delimiter` is ignored. The objects are the ones at the time of the inventory."
+    )
+    @PluginProperty(dynamic = true)
+    String getInventoryManifest();
+
     @Schema(
         title = "The type of objects to filter: files, directory, or both."
     )
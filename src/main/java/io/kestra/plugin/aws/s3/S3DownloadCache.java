@@ -0,0 +1,203 @@
+package io.kestra.plugin.aws.s3;
+
+import com.google.common.hash.Hashing;
+import io.kestra.core.serializers.JacksonMapper;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A local cache of downloaded objects, shared by the tasks of a worker.
+ * <p>
+ * The files are named by the hash of their endpoint, credentials, bucket, key, version and ETag, with a JSON file
+ * describing them, so the cache survives the restart of the worker. The least recently used files are evicted once the
+ * cache exceeds its maximum size, fixed for a directory. The cached files are only copied, never linked, so a file
+ * modified by a task never alters the cache. A cached file may be evicted while used, callers must then download the
+ * object again.
+ */
+@Slf4j
+final class S3DownloadCache {
+    private static final Map<Path, S3DownloadCache> CACHES = new ConcurrentHashMap<>();
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Path directory;
+    private final long maxSize;
+    // by object id, in access order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    private S3DownloadCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The cache of {@code directory}, limited to the {@code maxSize} bytes of its first use.
+     */
+    static S3DownloadCache of(Path directory, long maxSize) {
+        return CACHES.computeIfAbsent(directory.toAbsolutePath().normalize(), path -> {
+            S3DownloadCache cache = new S3DownloadCache(path, maxSize);
+            cache.load();
+
+            return cache;
+        });
+    }
+
+    synchronized Optional<Entry> get(String scope, String bucket, String key, String versionId) {
+        return Optional.ofNullable(this.entries.get(id(scope, bucket, key, versionId)));
+    }
+
+    /**
+     * Copy the cached file of {@code entry} to {@code target}.
+     *
+     * @return false if the file was evicted in the meantime
+     */
+    boolean copy(Entry entry, Path target) throws IOException {
+        try {
+            Files.copy(this.directory.resolve(entry.file()), target, StandardCopyOption.REPLACE_EXISTING);
+
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Add a copy of {@code source}, replacing the previous version of the object, then evict the least recently used
+     * files above the maximum size of the cache.
+     */
+    void put(Entry entry, Path source) throws IOException {
+        Files.createDirectories(this.directory);
+
+        Path file = this.directory.resolve(entry.file());
+        Path temp = Files.createTempFile(this.directory, entry.file(), ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            JacksonMapper.ofJson().writeValue(this.directory.resolve(entry.file() + ENTRY_EXTENSION).toFile(), entry);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        synchronized (this) {
+            Entry previous = this.entries.put(entry.id(), entry);
+            if (previous != null) {
+                this.size -= previous.size();
+                if (!previous.file().equals(entry.file())) {
+                    this.delete(previous);
+                }
+            }
+            this.size += entry.size();
+
+            Iterator<Entry> iterator = this.entries.values().iterator();
+            while (this.size > this.maxSize && iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                iterator.remove();
+                this.size -= eldest.size();
+                this.delete(eldest);
+            }
+        }
+    }
+
+    private void delete(Entry entry) {
+        try {
+            Files.deleteIfExists(this.directory.resolve(entry.file() + ENTRY_EXTENSION));
+            Files.deleteIfExists(this.directory.resolve(entry.file()));
+        } catch (IOException e) {
+            log.warn("Unable to delete the cached file '{}'", entry.file(), e);
+        }
+    }
+
+    /**
+     * Index the files of a previous worker, by modification date as their last access is unknown.
+     */
+    private void load() {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files
+                .filter(path -> path.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                .sorted((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()))
+                .forEach(path -> {
+                    try {
+                        Entry entry = JacksonMapper.ofJson().readValue(path.toFile(), Entry.class);
+                        if (Files.exists(this.directory.resolve(entry.file()))) {
+                            this.entries.put(entry.id(), entry);
+                            this.size += entry.size();
+                        }
+                    } catch (IOException e) {
+                        log.warn("Ignoring the invalid cache entry '{}'", path, e);
+                    }
+                });
+        } catch (IOException e) {
+            log.warn("Unable to load the download cache '{}'", this.directory, e);
+        }
+    }
+
+    private static String id(String scope, String bucket, String key, String versionId) {
+        return scope + ":" + bucket + "/" + key + (versionId != null ? "?versionId=" + versionId : "");
+    }
+
+    /**
+     * @param scope a digest of the endpoint and the credentials that downloaded the object
+     */
+    record Entry(
+        String scope,
+        String bucket,
+        String key,
+        String versionId,
+        String eTag,
+        long size,
+        String contentType,
+        Map<String, String> metadata
+    ) {
+        static Entry of(String scope, GetObjectRequest request, GetObjectResponse response) {
+            return new Entry(
+                scope,
+                request.bucket(),
+                request.key(),
+                request.versionId(),
+                response.eTag(),
+                response.contentLength(),
+                response.contentType(),
+                response.metadata()
+            );
+        }
+
+        GetObjectResponse response() {
+            return GetObjectResponse.builder()
+                .eTag(this.eTag)
+                .contentLength(this.size)
+                .contentType(this.contentType)
+                .metadata(this.metadata)
+                .versionId(this.versionId)
+                .build();
+        }
+
+        String id() {
+            return S3DownloadCache.id(this.scope, this.bucket, this.key, this.versionId);
+        }
+
+        /**
+         * The name of the cached file, addressed by its content.
+         */
+        String file() {
+            return Hashing.sha256().hashString(this.id() + "@" + this.eTag, StandardCharsets.UTF_8).toString();
+        }
+    }
+}
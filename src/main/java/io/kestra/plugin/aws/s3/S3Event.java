@@ -0,0 +1,86 @@
+package io.kestra.plugin.aws.s3;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.aws.s3.models.S3Object;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The S3 event notifications delivered to a SQS queue, either directly or through a SNS topic.
+ *
+ * @see <a href="https://docs.aws.amazon.com/AmazonS3/latest/userguide/notification-content-structure.html">Event message structure</a>
+ */
+final class S3Event {
+    private S3Event() {
+    }
+
+    /**
+     * The objects created by the events of a SQS message body, empty for test events and other notifications.
+     *
+     * @throws IOException if the body isn't a JSON notification
+     */
+    static List<Created> created(String body) throws IOException {
+        Notification notification = JacksonMapper.ofJson().readValue(body, Notification.class);
+        if (notification == null) {
+            return List.of();
+        }
+
+        // raw message delivery is disabled by default on SNS subscriptions, the event is then wrapped in the SNS message
+        if ("Notification".equals(notification.type()) && notification.message() != null) {
+            notification = JacksonMapper.ofJson().readValue(notification.message(), Notification.class);
+        }
+
+        if (notification == null || notification.records() == null) {
+            return List.of();
+        }
+
+        return notification.records()
+            .stream()
+            .filter(record -> record.eventName() != null && record.eventName().startsWith("ObjectCreated:"))
+            .filter(record -> record.s3() != null && record.s3().bucket() != null && record.s3().object() != null)
+            .map(record -> new Created(
+                record.s3().bucket().name(),
+                S3Object.builder()
+                    // keys are URL encoded in events
+                    .key(URLDecoder.decode(record.s3().object().key(), StandardCharsets.UTF_8))
+                    .etag(record.s3().object().eTag() != null ? "\"" + record.s3().object().eTag() + "\"" : null)
+                    .size(record.s3().object().size())
+                    .lastModified(record.eventTime())
+                    .build()
+            ))
+            .toList();
+    }
+
+    record Created(String bucket, S3Object object) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Notification(
+        @JsonProperty("Records") List<Record> records,
+        @JsonProperty("Type") String type,
+        @JsonProperty("Message") String message
+    ) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Record(String eventName, Instant eventTime, Entity s3) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Entity(Bucket bucket, EventObject object) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Bucket(String name) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record EventObject(String key, Long size, String eTag) {
+    }
+}
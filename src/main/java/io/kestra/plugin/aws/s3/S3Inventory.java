@@ -0,0 +1,194 @@
+package io.kestra.plugin.aws.s3;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.kestra.core.serializers.JacksonMapper;
+import io.reactivex.Flowable;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the objects of a bucket from an S3 Inventory report rather than listing it.
+ * <p>
+ * Only the CSV format is supported: the {@code manifest.json} references gzipped CSV files without header, with the
+ * columns described by its {@code fileSchema}. The data files are read one after the other as the objects are consumed.
+ */
+final class S3Inventory {
+    private static final String BUCKET_ARN_PREFIX = "arn:aws:s3:::";
+
+    private S3Inventory() {
+    }
+
+    /**
+     * The current versions of the objects of the inventory whose key starts with {@code prefix} and is after
+     * {@code startAfter}, both optional.
+     */
+    static Flowable<S3Object> objects(S3Client client, String manifestUri, String bucket, String prefix, String startAfter, String requestPayer) throws IOException {
+        URI uri = URI.create(manifestUri);
+        if (!"s3".equals(uri.getScheme())) {
+            throw new IllegalArgumentException("Invalid inventory manifest '" + manifestUri + "', must be a s3://bucket/key URI");
+        }
+
+        Manifest manifest;
+        try (ResponseInputStream<GetObjectResponse> inputStream = client.getObject(GetObjectRequest.builder()
+            .bucket(uri.getHost())
+            .key(uri.getPath().substring(1))
+            .requestPayer(requestPayer)
+            .build()
+        )) {
+            manifest = JacksonMapper.ofJson().readValue(inputStream, Manifest.class);
+        }
+
+        if (!"CSV".equalsIgnoreCase(manifest.fileFormat())) {
+            throw new IllegalArgumentException("Unsupported inventory format '" + manifest.fileFormat() + "', only CSV inventories can be read");
+        }
+
+        if (!bucket.equals(manifest.sourceBucket())) {
+            throw new IllegalArgumentException("The inventory is the one of bucket '" + manifest.sourceBucket() + "', not of '" + bucket + "'");
+        }
+
+        String destinationBucket = manifest.destinationBucket().startsWith(BUCKET_ARN_PREFIX) ?
+            manifest.destinationBucket().substring(BUCKET_ARN_PREFIX.length()) :
+            manifest.destinationBucket();
+        Columns columns = Columns.of(manifest.fileSchema());
+
+        return Flowable
+            .fromIterable(manifest.files())
+            .concatMap(file -> Flowable.using(
+                () -> new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(client.getObject(GetObjectRequest.builder()
+                        .bucket(destinationBucket)
+                        .key(file.key())
+                        .requestPayer(requestPayer)
+                        .build()
+                    )),
+                    StandardCharsets.UTF_8
+                )),
+                reader -> Flowable.fromIterable(() -> reader.lines().iterator()),
+                BufferedReader::close
+            ))
+            .filter(line -> !line.isEmpty())
+            .map(line -> columns.row(parseLine(line)))
+            .filter(Row::current)
+            .map(Row::object)
+            .filter(object ->
+                (prefix == null || object.key().startsWith(prefix)) &&
+                (startAfter == null || object.key().compareTo(startAfter) > 0)
+            );
+    }
+
+    /**
+     * Split a CSV line of an inventory, where all the values are quoted.
+     */
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        values.add(current.toString());
+
+        return values;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Manifest(
+        String sourceBucket,
+        String destinationBucket,
+        String fileFormat,
+        String fileSchema,
+        List<ManifestFile> files
+    ) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ManifestFile(
+        String key,
+        Long size,
+        @JsonProperty("MD5checksum") String md5Checksum
+    ) {
+    }
+
+    /**
+     * The position of the known columns in the rows, from the {@code fileSchema} of the manifest.
+     */
+    private record Columns(Map<String, Integer> positions) {
+        static Columns of(String fileSchema) {
+            Map<String, Integer> positions = new HashMap<>();
+            String[] names = fileSchema.split(",");
+            for (int i = 0; i < names.length; i++) {
+                positions.put(names[i].trim(), i);
+            }
+
+            if (!positions.containsKey("Key")) {
+                throw new IllegalArgumentException("Invalid inventory schema '" + fileSchema + "', the `Key` column is missing");
+            }
+
+            return new Columns(positions);
+        }
+
+        Row row(List<String> values) {
+            S3Object.Builder builder = S3Object.builder()
+                // keys are URL encoded in CSV inventories
+                .key(URLDecoder.decode(values.get(this.positions.get("Key")), StandardCharsets.UTF_8));
+
+            this.value(values, "Size").filter(size -> !size.isEmpty()).map(Long::parseLong).ifPresent(builder::size);
+            this.value(values, "LastModifiedDate").filter(date -> !date.isEmpty()).map(Instant::parse).ifPresent(builder::lastModified);
+            this.value(values, "ETag").filter(eTag -> !eTag.isEmpty()).map(eTag -> "\"" + eTag + "\"").ifPresent(builder::eTag);
+            this.value(values, "StorageClass").filter(storageClass -> !storageClass.isEmpty()).ifPresent(builder::storageClass);
+
+            // versioned inventories also contain the previous versions and delete markers
+            boolean current = this.value(values, "IsLatest").map(Boolean::parseBoolean).orElse(true) &&
+                !this.value(values, "IsDeleteMarker").map(Boolean::parseBoolean).orElse(false);
+
+            return new Row(builder.build(), current);
+        }
+
+        private Optional<String> value(List<String> values, String column) {
+            Integer position = this.positions.get(column);
+
+            return position != null && position < values.size() ? Optional.of(values.get(position)) : Optional.empty();
+        }
+    }
+
+    private record Row(S3Object object, boolean current) {
+    }
+}
@@ -1,107 +1,774 @@
 package io.kestra.plugin.aws.s3;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.aws.AbstractConnectionInterface;
+import io.kestra.plugin.aws.s3.models.Failure;
 import io.kestra.plugin.aws.s3.models.S3Object;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
-import software.amazon.awssdk.services.s3.model.ListObjectsResponse;
+import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.model.DownloadFileRequest;
 import software.amazon.awssdk.transfer.s3.model.FileDownload;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class S3Service {
+    private static final int MAX_PARTS = 10_000;
+    private static final int MAX_DELETE_KEYS = 1_000;
+    private static final long MAX_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+    private static final int COPY_PARTS_IN_FLIGHT = 8;
+    private static final int ARCHIVE_CONCURRENCY = 16;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+)");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
     public static Pair<GetObjectResponse, URI> download(RunContext runContext, S3AsyncClient client, GetObjectRequest request) throws IOException, ExecutionException, InterruptedException {
+        try (S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()) {
+            return download(runContext, transferManager, request);
+        }
+    }
+
+    /**
+     * Same as {@link #download(RunContext, S3AsyncClient, GetObjectRequest)} with a transfer manager shared
+     * by multiple downloads.
+     */
+    public static Pair<GetObjectResponse, URI> download(RunContext runContext, S3TransferManager transferManager, GetObjectRequest request) throws IOException, ExecutionException, InterruptedException {
+        Pair<GetObjectResponse, File> download = downloadFile(runContext, transferManager, request);
+
+        return Pair.of(download.getLeft(), runContext.putTempFile(download.getRight()));
+    }
+
+    /**
+     * Same as {@link #download(RunContext, S3TransferManager, GetObjectRequest)}, to a local temporary file.
+     */
+    static Pair<GetObjectResponse, File> downloadFile(RunContext runContext, S3TransferManager transferManager, GetObjectRequest request) throws IOException, ExecutionException, InterruptedException {
         // s3 require non existing files
         File tempFile = runContext.tempFile(runContext.fileExtension(request.key())).toFile();
         //noinspection ResultOfMethodCallIgnored
         tempFile.delete();
 
-        try (S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()) {
-            FileDownload download = transferManager.downloadFile(
-                DownloadFileRequest.builder()
-                    .getObjectRequest(request)
-                    .destination(tempFile)
+        FileDownload download = transferManager.downloadFile(
+            DownloadFileRequest.builder()
+                .getObjectRequest(request)
+                .destination(tempFile)
+                .build()
+        );
+
+        GetObjectResponse response = download.completionFuture().get().response();
+
+        runContext.metric(Counter.of("file.size", response.contentLength()));
+
+        return Pair.of(response, tempFile);
+    }
+
+    /**
+     * Download {@code request} to {@code file} with up to {@code concurrent} GET requests in flight, each written at its
+     * offset in the file. The object is fetched by ranges of {@code partSize} bytes, or with {@code byParts} by the parts
+     * of its multipart upload with the checksum mode enabled, so the SDK validates the checksum of each part when the
+     * object was uploaded with checksums. The parts are pinned to the ETag of the first response.
+     *
+     * @return the response of the object, with its whole content length
+     */
+    static GetObjectResponse parallelDownload(S3Client client, GetObjectRequest request, Path file, long partSize, int concurrent, boolean byParts) throws IOException {
+        Files.deleteIfExists(file);
+        Files.createFile(file);
+
+        GetObjectResponse first;
+        int parts;
+        long size;
+
+        if (byParts) {
+            first = writePart(client, request.toBuilder().partNumber(1).checksumMode(ChecksumMode.ENABLED).build(), file);
+            parts = first.partsCount() != null ? first.partsCount() : 1;
+            size = first.contentRange() != null ? contentRange(first.contentRange())[1] : first.contentLength();
+        } else {
+            GetObjectResponse response;
+            try {
+                response = writePart(client, request.toBuilder().range("bytes=0-" + (partSize - 1)).build(), file);
+            } catch (S3Exception e) {
+                // an empty object has no range
+                if (e.statusCode() != 416) {
+                    throw e;
+                }
+
+                response = writePart(client, request, file);
+            }
+
+            first = response;
+            size = first.contentRange() != null ? contentRange(first.contentRange())[1] : first.contentLength();
+            parts = (int) ((size + partSize - 1) / partSize);
+        }
+
+        Flowable.range(2, Math.max(0, parts - 1))
+            .flatMap(
+                number -> Flowable
+                    .fromCallable(() -> {
+                        GetObjectRequest.Builder part = request.toBuilder().ifMatch(first.eTag());
+
+                        if (byParts) {
+                            part.partNumber(number).checksumMode(ChecksumMode.ENABLED);
+                        } else {
+                            long offset = (number - 1) * partSize;
+                            part.range("bytes=" + offset + "-" + (Math.min(offset + partSize, size) - 1));
+                        }
+
+                        return writePart(client, part.build(), file);
+                    })
+                    .subscribeOn(Schedulers.io()),
+                concurrent
+            )
+            .blockingSubscribe();
+
+        if (Files.size(file) != size) {
+            throw new IOException("Invalid download of '" + request.key() + "', " + Files.size(file) + " bytes written instead of " + size);
+        }
+
+        return first.toBuilder()
+            .contentLength(size)
+            .contentRange(null)
+            .partsCount(null)
+            .build();
+    }
+
+    /**
+     * Write the content of a (ranged) GET request to {@code file}, at the offset of its content range.
+     */
+    static GetObjectResponse writePart(S3Client client, GetObjectRequest request, Path file) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> inputStream = client.getObject(request)) {
+            GetObjectResponse response = inputStream.response();
+            write(inputStream, file, response.contentRange() != null ? contentRange(response.contentRange())[0] : 0);
+
+            return response;
+        }
+    }
+
+    /**
+     * Write the content of a (ranged) GET request to {@code file}, at {@code position}.
+     */
+    static GetObjectResponse writePart(S3Client client, GetObjectRequest request, Path file, long position) throws IOException {
+        try (ResponseInputStream<GetObjectResponse> inputStream = client.getObject(request)) {
+            write(inputStream, file, position);
+
+            return inputStream.response();
+        }
+    }
+
+    private static void write(InputStream inputStream, Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * The first byte and the total size of a {@code bytes first-last/size} content range.
+     */
+    @VisibleForTesting
+    static long[] contentRange(String contentRange) {
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid content range '" + contentRange + "'");
+        }
+
+        return new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+    }
+
+    /**
+     * The first and last bytes of a {@code bytes=first-last}, {@code bytes=first-} or {@code bytes=-suffix} range of an
+     * object of {@code size} bytes.
+     */
+    @VisibleForTesting
+    static long[] range(String range, long size) {
+        Matcher matcher = RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            throw new IllegalArgumentException("Invalid range '" + range + "', must be a single range like 'bytes=0-1023'");
+        }
+
+        if (matcher.group(1).isEmpty()) {
+            return new long[]{Math.max(0, size - Long.parseLong(matcher.group(2))), size - 1};
+        }
+
+        long first = Long.parseLong(matcher.group(1));
+        long last = matcher.group(2).isEmpty() ? size - 1 : Math.min(Long.parseLong(matcher.group(2)), size - 1);
+        if (first > last) {
+            throw new IllegalArgumentException("Invalid range '" + range + "', not satisfiable for an object of " + size + " bytes");
+        }
+
+        return new long[]{first, last};
+    }
+
+    /**
+     * Upload {@code inputStream} without a local copy: the stream is read in parts of {@code partSize} bytes, sent as
+     * a multipart upload with at most {@code partsInFlight} parts buffered in memory, or with a single request if it
+     * fits in a part. The upload is aborted on failure.
+     */
+    public static PutObjectResponse upload(RunContext runContext, S3AsyncClient client, PutObjectRequest request, InputStream inputStream, int partSize, int partsInFlight) throws Exception {
+        byte[] part = readPart(inputStream, partSize);
+
+        if (part.length < partSize) {
+            PutObjectResponse response = client.putObject(
+                request.toBuilder().contentLength((long) part.length).build(),
+                AsyncRequestBody.fromBytes(part)
+            ).get();
+
+            runContext.metric(Counter.of("file.size", part.length));
+
+            return response;
+        }
+
+        String uploadId = client.createMultipartUpload(createMultipartUploadRequest(request)).get().uploadId();
+
+        try {
+            Semaphore inFlight = new Semaphore(partsInFlight);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+            long size = 0;
+            int partNumber = 1;
+
+            while (part.length > 0) {
+                inFlight.acquire();
+                if (failure.get() != null) {
+                    break;
+                }
+
+                if (partNumber > MAX_PARTS) {
+                    throw new IllegalArgumentException("Unable to upload more than " + MAX_PARTS + " parts of " + partSize + " bytes, increase the part size");
+                }
+
+                size += part.length;
+                int number = partNumber++;
+
+                UploadPartRequest.Builder uploadPartRequest = UploadPartRequest.builder()
+                    .bucket(request.bucket())
+                    .key(request.key())
+                    .uploadId(uploadId)
+                    .partNumber(number)
+                    .contentLength((long) part.length)
+                    .requestPayer(request.requestPayerAsString())
+                    .expectedBucketOwner(request.expectedBucketOwner())
+                    .checksumAlgorithm(request.checksumAlgorithm());
+
+                parts.add(client.uploadPart(uploadPartRequest.build(), AsyncRequestBody.fromBytes(part))
+                    .thenApply(response -> CompletedPart.builder()
+                        .partNumber(number)
+                        .eTag(response.eTag())
+                        .checksumCRC32(response.checksumCRC32())
+                        .checksumCRC32C(response.checksumCRC32C())
+                        .checksumSHA1(response.checksumSHA1())
+                        .checksumSHA256(response.checksumSHA256())
+                        .build()
+                    )
+                    .whenComplete((completedPart, throwable) -> {
+                        if (throwable != null) {
+                            failure.compareAndSet(null, throwable);
+                        }
+                        inFlight.release();
+                    })
+                );
+
+                part = part.length < partSize ? new byte[0] : readPart(inputStream, partSize);
+            }
+
+            CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).get();
+
+            CompleteMultipartUploadResponse response = client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(request.bucket())
+                .key(request.key())
+                .uploadId(uploadId)
+                .requestPayer(request.requestPayerAsString())
+                .expectedBucketOwner(request.expectedBucketOwner())
+                .multipartUpload(CompletedMultipartUpload.builder()
+                    .parts(parts.stream().map(CompletableFuture::join).toList())
                     .build()
-            );
+                )
+                .build()
+            ).get();
+
+            runContext.metric(Counter.of("file.size", size));
+            runContext.metric(Counter.of("parts", parts.size()));
+
+            return PutObjectResponse.builder()
+                .eTag(response.eTag())
+                .versionId(response.versionId())
+                .build();
+        } catch (Exception e) {
+            try {
+                client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(request.bucket())
+                    .key(request.key())
+                    .uploadId(uploadId)
+                    .requestPayer(request.requestPayerAsString())
+                    .expectedBucketOwner(request.expectedBucketOwner())
+                    .build()
+                ).get();
+            } catch (Exception abort) {
+                e.addSuppressed(abort);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Report the throughput of a transfer of {@code bytes} started at {@code startNanos}, in bytes per second.
+     */
+    static void throughput(RunContext runContext, long bytes, long startNanos) {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+
+        runContext.metric(Counter.of("throughput", bytes * 1_000_000_000D / elapsed));
+    }
+
+    /**
+     * All the objects under {@code prefix}, by key.
+     */
+    static Map<String, software.amazon.awssdk.services.s3.model.S3Object> listAll(S3Client client, String bucket, String prefix, String requestPayer) {
+        ListObjectsV2Request.Builder builder = ListObjectsV2Request.builder()
+            .bucket(bucket)
+            .requestPayer(requestPayer);
+
+        if (!prefix.isEmpty()) {
+            builder.prefix(prefix);
+        }
+
+        Map<String, software.amazon.awssdk.services.s3.model.S3Object> objects = new HashMap<>();
+        client.listObjectsV2Paginator(builder.build())
+            .contents()
+            .forEach(object -> objects.put(object.key(), object));
 
-            GetObjectResponse response =download.completionFuture().get().response();
+        return objects;
+    }
+
+    /**
+     * The prefix of the keys of a directory: empty, or ending with a {@code /}.
+     */
+    static String directoryPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return "";
+        }
+
+        return prefix.endsWith("/") ? prefix : prefix + "/";
+    }
 
-            runContext.metric(Counter.of("file.size", response.contentLength()));
+    static String md5(Path path) throws IOException {
+        try (DigestInputStream inputStream = new DigestInputStream(Files.newInputStream(path), MessageDigest.getInstance("MD5"))) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
 
-            return Pair.of(response, runContext.putTempFile(tempFile));
+            return HexFormat.of().formatHex(inputStream.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    static String unquote(String eTag) {
+        return eTag == null ? null : StringUtils.strip(eTag, "\"");
+    }
+
+    /**
+     * Whether the ETag is the one of a multipart upload, like {@code <md5 of the parts md5>-<number of parts>},
+     * rather than the MD5 of the content.
+     */
+    static boolean isMultipartETag(String eTag) {
+        return eTag != null && eTag.contains("-");
+    }
+
+    private static byte[] readPart(InputStream inputStream, int partSize) throws IOException {
+        // a full part, unless the end of the stream is reached
+        return inputStream.readNBytes(partSize);
+    }
+
+    private static CreateMultipartUploadRequest createMultipartUploadRequest(PutObjectRequest request) {
+        return CreateMultipartUploadRequest.builder()
+            .bucket(request.bucket())
+            .key(request.key())
+            .requestPayer(request.requestPayerAsString())
+            .metadata(request.hasMetadata() ? request.metadata() : null)
+            .cacheControl(request.cacheControl())
+            .contentType(request.contentType())
+            .contentEncoding(request.contentEncoding())
+            .contentDisposition(request.contentDisposition())
+            .contentLanguage(request.contentLanguage())
+            .expires(request.expires())
+            .acl(request.aclAsString())
+            .storageClass(request.storageClassAsString())
+            .serverSideEncryption(request.serverSideEncryptionAsString())
+            .bucketKeyEnabled(request.bucketKeyEnabled())
+            .checksumAlgorithm(request.checksumAlgorithmAsString())
+            .expectedBucketOwner(request.expectedBucketOwner())
+            .objectLockMode(request.objectLockModeAsString())
+            .objectLockLegalHoldStatus(request.objectLockLegalHoldStatusAsString())
+            .objectLockRetainUntilDate(request.objectLockRetainUntilDate())
+            .tagging(request.tagging())
+            .build();
+    }
+
     static void archive(
         java.util.List<S3Object> s3Objects,
         ActionInterface.Action action,
         Copy.CopyObject moveTo,
         RunContext runContext,
         AbstractS3ObjectInterface abstractS3Object,
-        AbstractConnectionInterface abstractS3,
         AbstractConnectionInterface abstractConnection
     ) throws Exception {
-        if (action == ActionInterface.Action.DELETE) {
-            for (S3Object object : s3Objects) {
-                Delete delete = Delete.builder()
-                    .id("archive")
-                    .type(Delete.class.getName())
-                    .region(abstractS3.getRegion())
-                    .endpointOverride(abstractS3.getEndpointOverride())
-                    .accessKeyId(abstractConnection.getAccessKeyId())
-                    .secretKeyId(abstractConnection.getSecretKeyId())
-                    .key(object.getKey())
-                    .bucket(abstractS3Object.getBucket())
-                    .build();
-                delete.run(runContext);
-            }
-        } else if (action == ActionInterface.Action.MOVE) {
-            for (S3Object object : s3Objects) {
-                Copy copy = Copy.builder()
-                    .id("archive")
-                    .type(Copy.class.getName())
-                    .region(abstractS3.getRegion())
-                    .endpointOverride(abstractS3.getEndpointOverride())
-                    .accessKeyId(abstractConnection.getAccessKeyId())
-                    .secretKeyId(abstractConnection.getSecretKeyId())
-                    .from(Copy.CopyObjectFrom.builder()
-                        .bucket(abstractS3Object.getBucket())
-                        .key(object.getKey())
-                        .build()
-                    )
-                    .to(moveTo.toBuilder()
-                        .key(StringUtils.stripEnd(moveTo.getKey() + "/", "/")
-                            + "/" + FilenameUtils.getName(object.getKey())
-                        )
-                        .build()
+        if (action != ActionInterface.Action.DELETE && action != ActionInterface.Action.MOVE) {
+            return;
+        }
+
+        Delete delete = Delete.builder()
+            .id("archive")
+            .type(Delete.class.getName())
+            .connection(abstractConnection)
+            .build();
+
+        String bucket = runContext.render(abstractS3Object.getBucket());
+        String requestPayer = runContext.render(abstractS3Object.getRequestPayer());
+
+        try (S3Client client = delete.client(runContext)) {
+            if (action == ActionInterface.Action.MOVE) {
+                String toBucket = moveTo.getBucket() != null ? runContext.render(moveTo.getBucket()) : bucket;
+                String toPrefix = StringUtils.stripEnd(runContext.render(moveTo.getKey()) + "/", "/") + "/";
+
+                // the sources are only deleted once all the copies succeeded
+                Flowable.fromIterable(s3Objects)
+                    .flatMap(
+                        object -> Flowable
+                            .fromCallable(() -> copy(client, CopyObjectRequest.builder()
+                                .sourceBucket(bucket)
+                                .sourceKey(object.getKey())
+                                .destinationBucket(toBucket)
+                                .destinationKey(toPrefix + FilenameUtils.getName(object.getKey()))
+                                .requestPayer(requestPayer)
+                                .build(),
+                                object.getSize()
+                            ))
+                            .subscribeOn(Schedulers.io()),
+                        ARCHIVE_CONCURRENCY
                     )
-                    .delete(true)
-                    .build();
-                copy.run(runContext);
+                    .blockingSubscribe();
+            }
+
+            List<Failure> failures = delete(client, bucket, requestPayer, Flowable.fromIterable(s3Objects), ARCHIVE_CONCURRENCY)
+                .flatMapIterable(DeleteBatch::failures)
+                .toList()
+                .blockingGet();
+
+            if (!failures.isEmpty()) {
+                throw new IOException("Unable to delete " + failures.size() + " key(s) from '" + bucket + "', first error on '" +
+                    failures.get(0).getKey() + "': " + failures.get(0).getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Copy an object server side, with a multipart copy for the objects larger than the 5GB supported by CopyObject.
+     * {@code size} is the size of the source object if known, otherwise a CopyObject is tried first and the object is
+     * only requested when it is too large for it.
+     */
+    static CopyObjectResult copy(S3Client client, CopyObjectRequest request, Long size) {
+        if (size == null || size <= MAX_COPY_SIZE) {
+            try {
+                return client.copyObject(request).copyObjectResult();
+            } catch (S3Exception e) {
+                if (size != null || !tooLargeForCopy(e)) {
+                    throw e;
+                }
+            }
+        }
+
+        HeadObjectResponse head = client.headObject(HeadObjectRequest.builder()
+            .bucket(request.sourceBucket())
+            .key(request.sourceKey())
+            .versionId(request.sourceVersionId())
+            .requestPayer(request.requestPayerAsString())
+            .expectedBucketOwner(request.expectedSourceBucketOwner())
+            .build()
+        );
+
+        return multipartCopy(client, request, head);
+    }
+
+    /**
+     * Whether CopyObject failed because the source is larger than 5GB, the error has no specific code.
+     */
+    private static boolean tooLargeForCopy(S3Exception e) {
+        return e.statusCode() == 400 &&
+            e.awsErrorDetails() != null &&
+            "InvalidRequest".equals(e.awsErrorDetails().errorCode()) &&
+            e.awsErrorDetails().errorMessage() != null &&
+            e.awsErrorDetails().errorMessage().contains("maximum allowable size");
+    }
+
+    private static CopyObjectResult multipartCopy(S3Client client, CopyObjectRequest request, HeadObjectResponse source) {
+        long size = source.contentLength();
+        long partSize = Math.max(COPY_PART_SIZE, (size + MAX_PARTS - 1) / MAX_PARTS);
+        int parts = (int) ((size + partSize - 1) / partSize);
+
+        // unlike CopyObject, the multipart upload doesn't take the metadata, encryption, storage class nor tags of the
+        // source, they are copied unless replaced by the request
+        CreateMultipartUploadRequest.Builder create = CreateMultipartUploadRequest.builder()
+            .bucket(request.destinationBucket())
+            .key(request.destinationKey())
+            .requestPayer(request.requestPayerAsString())
+            .expectedBucketOwner(request.expectedBucketOwner())
+            .serverSideEncryption(request.serverSideEncryption() != null ? request.serverSideEncryptionAsString() : source.serverSideEncryptionAsString())
+            .ssekmsKeyId(request.ssekmsKeyId() != null ? request.ssekmsKeyId() : source.ssekmsKeyId())
+            .ssekmsEncryptionContext(request.ssekmsEncryptionContext())
+            .bucketKeyEnabled(request.bucketKeyEnabled() != null ? request.bucketKeyEnabled() : source.bucketKeyEnabled())
+            .storageClass(request.storageClass() != null ? request.storageClassAsString() : source.storageClassAsString())
+            .acl(request.aclAsString())
+            .grantFullControl(request.grantFullControl())
+            .grantRead(request.grantRead())
+            .grantReadACP(request.grantReadACP())
+            .grantWriteACP(request.grantWriteACP())
+            .websiteRedirectLocation(request.websiteRedirectLocation())
+            .objectLockMode(request.objectLockModeAsString())
+            .objectLockLegalHoldStatus(request.objectLockLegalHoldStatusAsString())
+            .objectLockRetainUntilDate(request.objectLockRetainUntilDate())
+            .checksumAlgorithm(request.checksumAlgorithmAsString());
+
+        if (request.metadataDirective() == MetadataDirective.REPLACE) {
+            create
+                .contentType(request.contentType())
+                .contentEncoding(request.contentEncoding())
+                .contentDisposition(request.contentDisposition())
+                .contentLanguage(request.contentLanguage())
+                .cacheControl(request.cacheControl())
+                .expires(request.expires())
+                .metadata(request.metadata());
+        } else {
+            create
+                .contentType(source.contentType())
+                .contentEncoding(source.contentEncoding())
+                .contentDisposition(source.contentDisposition())
+                .contentLanguage(source.contentLanguage())
+                .cacheControl(source.cacheControl())
+                .expires(source.expires())
+                .metadata(source.metadata());
+        }
+
+        if (request.taggingDirective() == TaggingDirective.REPLACE) {
+            create.tagging(request.tagging());
+        } else {
+            // HeadObject doesn't tell whether the source has tags
+            List<Tag> tags = client.getObjectTagging(GetObjectTaggingRequest.builder()
+                .bucket(request.sourceBucket())
+                .key(request.sourceKey())
+                .versionId(request.sourceVersionId())
+                .requestPayer(request.requestPayerAsString())
+                .expectedBucketOwner(request.expectedSourceBucketOwner())
+                .build()
+            ).tagSet();
+
+            if (!tags.isEmpty()) {
+                create.tagging(tagging(tags));
+            }
+        }
+
+        String uploadId = client.createMultipartUpload(create.build()).uploadId();
+
+        try {
+            List<CompletedPart> completedParts = Flowable.range(1, parts)
+                .concatMapEager(
+                    number -> Flowable
+                        .fromCallable(() -> {
+                            long first = (number - 1) * partSize;
+                            long last = Math.min(first + partSize, size) - 1;
+
+                            UploadPartCopyResponse response = client.uploadPartCopy(UploadPartCopyRequest.builder()
+                                .sourceBucket(request.sourceBucket())
+                                .sourceKey(request.sourceKey())
+                                .sourceVersionId(request.sourceVersionId())
+                                .copySourceIfMatch(source.eTag())
+                                .copySourceRange("bytes=" + first + "-" + last)
+                                .destinationBucket(request.destinationBucket())
+                                .destinationKey(request.destinationKey())
+                                .uploadId(uploadId)
+                                .partNumber(number)
+                                .requestPayer(request.requestPayerAsString())
+                                .build()
+                            );
+
+                            return CompletedPart.builder()
+                                .partNumber(number)
+                                .eTag(response.copyPartResult().eTag())
+                                .build();
+                        })
+                        .subscribeOn(Schedulers.io()),
+                    COPY_PARTS_IN_FLIGHT,
+                    1
+                )
+                .toList()
+                .blockingGet();
+
+            CompleteMultipartUploadResponse response = client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(request.destinationBucket())
+                .key(request.destinationKey())
+                .uploadId(uploadId)
+                .requestPayer(request.requestPayerAsString())
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build()
+            );
+
+            return CopyObjectResult.builder()
+                .eTag(response.eTag())
+                .build();
+        } catch (RuntimeException e) {
+            try {
+                client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(request.destinationBucket())
+                    .key(request.destinationKey())
+                    .uploadId(uploadId)
+                    .requestPayer(request.requestPayerAsString())
+                    .build()
+                );
+            } catch (RuntimeException abort) {
+                e.addSuppressed(abort);
             }
+
+            throw e;
         }
     }
 
-    public static List<S3Object> list(RunContext runContext, S3Client client, ListInterface list, AbstractS3Object abstractS3) throws IllegalVariableEvaluationException {
-        ListObjectsRequest.Builder builder = ListObjectsRequest.builder()
+    /**
+     * The {@code x-amz-tagging} header of {@code tags}, URL encoded as query parameters.
+     */
+    private static String tagging(List<Tag> tags) {
+        return tags.stream()
+            .map(tag -> SdkHttpUtils.urlEncode(tag.key()) + "=" + SdkHttpUtils.urlEncode(tag.value()))
+            .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * Delete the {@code objects} with DeleteObjects requests of up to 1000 keys, with up to {@code concurrent} requests
+     * in flight. The keys that couldn't be deleted are reported in the result of their batch.
+     */
+    static Flowable<DeleteBatch> delete(S3Client client, String bucket, String requestPayer, Flowable<S3Object> objects, int concurrent) {
+        return objects
+            .buffer(MAX_DELETE_KEYS)
+            .flatMap(
+                batch -> Flowable
+                    .fromCallable(() -> deleteBatch(client, bucket, requestPayer, batch))
+                    .subscribeOn(Schedulers.io()),
+                concurrent
+            );
+    }
+
+    private static DeleteBatch deleteBatch(S3Client client, String bucket, String requestPayer, List<S3Object> batch) {
+        DeleteObjectsResponse response = client.deleteObjects(DeleteObjectsRequest.builder()
+            .bucket(bucket)
+            .requestPayer(requestPayer)
+            .delete(software.amazon.awssdk.services.s3.model.Delete.builder()
+                .objects(batch.stream()
+                    .map(object -> ObjectIdentifier.builder().key(object.getKey()).build())
+                    .toList()
+                )
+                // only report the errors
+                .quiet(true)
+                .build()
+            )
+            .build()
+        );
+
+        List<Failure> failures = response.errors()
+            .stream()
+            .map(error -> Failure.of(error.key(), error.code() + ": " + error.message()))
+            .toList();
+        Set<String> failed = failures.stream()
+            .map(Failure::getKey)
+            .collect(Collectors.toSet());
+
+        long count = 0;
+        long size = 0;
+        for (S3Object object : batch) {
+            if (!failed.contains(object.getKey())) {
+                count++;
+                size += object.getSize() != null ? object.getSize() : 0;
+            }
+        }
+
+        return new DeleteBatch(count, size, failures);
+    }
+
+    /**
+     * The result of a DeleteObjects request: the number and size of the deleted objects, and the keys that failed.
+     */
+    record DeleteBatch(long count, long size, List<Failure> failures) {
+    }
+
+    public static List<S3Object> list(RunContext runContext, S3Client client, ListInterface list, AbstractS3Object abstractS3) throws IllegalVariableEvaluationException, IOException {
+        return stream(runContext, client, list, abstractS3)
+            .toList()
+            .blockingGet();
+    }
+
+    /**
+     * List all the objects matching {@code list}, following the pages of the listing as the objects are consumed,
+     * up to {@link ListInterface#getMaxObjects()}.
+     * The client must stay open until the returned flowable is consumed.
+     */
+    public static Flowable<S3Object> stream(RunContext runContext, S3Client client, ListInterface list, AbstractS3Object abstractS3) throws IllegalVariableEvaluationException, IOException {
+        return stream(runContext, client, list, abstractS3, null, null);
+    }
+
+    /**
+     * Same as {@link #stream(RunContext, S3Client, ListInterface, AbstractS3Object)}, listing up to {@code concurrent}
+     * partitions of the keyspace in parallel when set. The partitions are the {@code partitions} prefixes, or the
+     * common prefixes one {@code /} level below the listed prefix. The objects of the partitions are merged as they are
+     * listed, so they aren't sorted by key.
+     */
+    public static Flowable<S3Object> stream(RunContext runContext, S3Client client, ListInterface list, AbstractS3Object abstractS3, List<String> partitions, Integer concurrent) throws IllegalVariableEvaluationException, IOException {
+        ListObjectsV2Request.Builder builder = ListObjectsV2Request.builder()
             .bucket(runContext.render(list.getBucket()))
-            .maxKeys(list.getMaxKeys());
+            .maxKeys(list.getMaxKeys())
+            // unlike ListObjects, the owner is only returned on demand
+            .fetchOwner(true);
 
         if (list.getPrefix() != null) {
             builder.prefix(runContext.render(list.getPrefix()));
@@ -112,7 +779,7 @@ public class S3Service {
         }
 
         if (list.getMarker() != null) {
-            builder.marker(runContext.render(list.getMarker()));
+            builder.startAfter(runContext.render(list.getMarker()));
         }
 
         if (list.getEncodingType() != null) {
@@ -129,17 +796,83 @@ public class S3Service {
 
         String regExp = runContext.render(list.getRegexp());
 
-        ListObjectsResponse listObjectsResponse = client.listObjects(builder.build());
+        ListObjectsV2Request request = builder.build();
+        Flowable<software.amazon.awssdk.services.s3.model.S3Object> objects;
 
-        return listObjectsResponse
-            .contents()
-            .stream()
+        if (list.getInventoryManifest() != null) {
+            if (concurrent != null) {
+                throw new IllegalArgumentException("Unable to list partitions in parallel from an inventory");
+            }
+
+            objects = S3Inventory.objects(
+                client,
+                runContext.render(list.getInventoryManifest()),
+                request.bucket(),
+                request.prefix(),
+                request.startAfter(),
+                request.requestPayerAsString()
+            );
+        } else if (concurrent == null) {
+            objects = contents(client, request);
+        } else {
+            if (request.delimiter() != null) {
+                throw new IllegalArgumentException("Unable to list partitions in parallel with a delimiter");
+            }
+
+            Flowable<Flowable<software.amazon.awssdk.services.s3.model.S3Object>> sources = partitions != null ?
+                Flowable.fromIterable(partitions).map(partition -> partition(client, request, partition)) :
+                discoverPartitions(client, request);
+
+            objects = Flowable.merge(sources, concurrent);
+        }
+
+        Flowable<S3Object> flowable = objects
             .filter(s3Object -> S3Service.filter(s3Object, regExp, list.getFilter()))
-            .map(S3Object::of)
-            .collect(Collectors.toList());
+            .map(S3Object::of);
+
+        if (list.getMaxObjects() != null) {
+            flowable = flowable.take(list.getMaxObjects());
+        }
+
+        return flowable;
+    }
+
+    private static Flowable<software.amazon.awssdk.services.s3.model.S3Object> contents(S3Client client, ListObjectsV2Request request) {
+        // the paginator only requests the next page once the previous one is consumed
+        return Flowable.defer(() -> Flowable.fromIterable(client.listObjectsV2Paginator(request).contents()));
+    }
+
+    private static Flowable<software.amazon.awssdk.services.s3.model.S3Object> partition(S3Client client, ListObjectsV2Request request, String prefix) {
+        return contents(client, request.toBuilder().prefix(prefix).build())
+            .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * The partitions found by listing the first level of the keyspace: the objects at this level, then a partition
+     * per common prefix, available as soon as their page is listed.
+     */
+    private static Flowable<Flowable<software.amazon.awssdk.services.s3.model.S3Object>> discoverPartitions(S3Client client, ListObjectsV2Request request) {
+        ListObjectsV2Request discovery = request.toBuilder()
+            .delimiter("/")
+            .build();
+
+        return Flowable
+            .fromIterable(client.listObjectsV2Paginator(discovery))
+            .concatMapIterable(page -> {
+                List<Flowable<software.amazon.awssdk.services.s3.model.S3Object>> sources = new ArrayList<>();
+
+                if (!page.contents().isEmpty()) {
+                    sources.add(Flowable.fromIterable(page.contents()));
+                }
+
+                page.commonPrefixes().forEach(commonPrefix -> sources.add(partition(client, request, commonPrefix.prefix())));
+
+                return sources;
+            });
     }
 
-    private static boolean filter(software.amazon.awssdk.services.s3.model.S3Object object, String regExp, ListInterface.Filter filter) {
+    @VisibleForTesting
+    static boolean filter(software.amazon.awssdk.services.s3.model.S3Object object, String regExp, ListInterface.Filter filter) {
         return
             (regExp == null || object.key().matches(regExp)) &&
             (filter == ListInterface.Filter.BOTH ||
@@ -0,0 +1,261 @@
+package io.kestra.plugin.aws.s3;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.validation.constraints.NotNull;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    examples = {
+        @Example(
+            title = "Fetch the audit events of a user from a gzipped CSV file with a header.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "key: \"audit/2023-10-01.csv.gz\"",
+                "expression: \"SELECT s.* FROM S3Object s WHERE s.user_id = '{{ inputs.user }}'\"",
+                "inputFormat: CSV",
+                "compressionType: GZIP"
+            }
+        ),
+        @Example(
+            title = "Sum a column of a Parquet file.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "key: \"sales/2023.parquet\"",
+                "expression: \"SELECT SUM(s.amount) AS total FROM S3Object s\"",
+                "inputFormat: PARQUET"
+            }
+        )
+    }
+)
+@Schema(
+    title = "Query a CSV, JSON or Parquet object with S3 Select.",
+    description = "The SQL expression is evaluated by S3 and only the matching records are transferred. They are written to " +
+        "an ion file in the internal storage as they are received, and the bytes scanned, processed and returned by S3 " +
+        "are reported as metrics."
+)
+public class Select extends AbstractS3Object implements RunnableTask<Select.Output> {
+    @Schema(
+        title = "The key of the object to query."
+    )
+    @PluginProperty(dynamic = true)
+    @NotNull
+    private String key;
+
+    @Schema(
+        title = "The SQL expression, querying the object as `S3Object`."
+    )
+    @PluginProperty(dynamic = true)
+    @NotNull
+    private String expression;
+
+    @Schema(
+        title = "The format of the object."
+    )
+    @PluginProperty
+    @NotNull
+    @Builder.Default
+    private InputFormat inputFormat = InputFormat.CSV;
+
+    @Schema(
+        title = "The compression of the object, for CSV and JSON objects."
+    )
+    @PluginProperty
+    @Builder.Default
+    private CompressionType compressionType = CompressionType.NONE;
+
+    @Schema(
+        title = "How to use the first line of a CSV object.",
+        description = "With `USE`, the columns are named by the header, otherwise they are named `_1`, `_2`..."
+    )
+    @PluginProperty
+    @Builder.Default
+    private FileHeaderInfo csvFileHeaderInfo = FileHeaderInfo.USE;
+
+    @Schema(
+        title = "The delimiter of the fields of a CSV object."
+    )
+    @PluginProperty(dynamic = true)
+    @Builder.Default
+    private String csvFieldDelimiter = ",";
+
+    @Schema(
+        title = "Whether a JSON object is a single document or a JSON per line."
+    )
+    @PluginProperty
+    @Builder.Default
+    private JSONType jsonType = JSONType.LINES;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String bucket = runContext.render(this.bucket);
+        String key = runContext.render(this.key);
+
+        InputSerialization.Builder input = InputSerialization.builder();
+        switch (this.inputFormat) {
+            case CSV -> input
+                .csv(CSVInput.builder()
+                    .fileHeaderInfo(this.csvFileHeaderInfo)
+                    .fieldDelimiter(runContext.render(this.csvFieldDelimiter))
+                    .build()
+                )
+                .compressionType(this.compressionType);
+            case JSON -> input
+                .json(JSONInput.builder().type(this.jsonType).build())
+                .compressionType(this.compressionType);
+            case PARQUET -> input.parquet(ParquetInput.builder().build());
+        }
+
+        SelectObjectContentRequest.Builder request = SelectObjectContentRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .expression(runContext.render(this.expression))
+            .expressionType(ExpressionType.SQL)
+            .inputSerialization(input.build())
+            // the records are received as JSON lines, converted to ion as they arrive
+            .outputSerialization(OutputSerialization.builder()
+                .json(JSONOutput.builder().recordDelimiter("\n").build())
+                .build()
+            );
+
+        File tempFile = runContext.tempFile(".ion").toFile();
+        AtomicReference<Stats> stats = new AtomicReference<>();
+        long count;
+
+        // event streams are only supported by the standard async client
+        try (
+            S3AsyncClient client = this.client(runContext, S3AsyncClient.class, S3AsyncClient::builder);
+            OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(tempFile))
+        ) {
+            RecordWriter writer = new RecordWriter(outputStream);
+
+            client.selectObjectContent(
+                request.build(),
+                SelectObjectContentResponseHandler.builder()
+                    .subscriber(SelectObjectContentResponseHandler.Visitor.builder()
+                        .onRecords(records -> writer.write(records.payload()))
+                        .onStats(event -> stats.set(event.details()))
+                        .build()
+                    )
+                    .build()
+            ).get();
+
+            count = writer.end();
+        }
+
+        runContext.metric(Counter.of("records", count));
+        if (stats.get() != null) {
+            runContext.metric(Counter.of("bytes.scanned", stats.get().bytesScanned()));
+            runContext.metric(Counter.of("bytes.processed", stats.get().bytesProcessed()));
+            runContext.metric(Counter.of("bytes.returned", stats.get().bytesReturned()));
+        }
+
+        return Output.builder()
+            .uri(runContext.putTempFile(tempFile))
+            .count(count)
+            .build();
+    }
+
+    /**
+     * Writes the JSON lines of the records events as ion, a record can be split across events.
+     */
+    @VisibleForTesting
+    static class RecordWriter {
+        private final OutputStream outputStream;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private long count = 0;
+
+        RecordWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        // the events are delivered one after the other
+        void write(SdkBytes payload) {
+            byte[] bytes = payload.asByteArrayUnsafe();
+
+            try {
+                int start = 0;
+                for (int i = 0; i < bytes.length; i++) {
+                    if (bytes[i] == '\n') {
+                        this.line.write(bytes, start, i - start);
+                        this.flushLine();
+                        start = i + 1;
+                    }
+                }
+
+                this.line.write(bytes, start, bytes.length - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long end() throws IOException {
+            this.flushLine();
+
+            return this.count;
+        }
+
+        private void flushLine() throws IOException {
+            if (this.line.size() == 0) {
+                return;
+            }
+
+            FileSerde.write(this.outputStream, JacksonMapper.ofJson().readValue(this.line.toByteArray(), Object.class));
+            this.line.reset();
+            this.count++;
+        }
+    }
+
+    public enum InputFormat {
+        CSV,
+        JSON,
+        PARQUET
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The URI of the ion file of the selected records."
+        )
+        private final URI uri;
+
+        @Schema(
+            title = "The number of selected records."
+        )
+        private final Long count;
+    }
+}
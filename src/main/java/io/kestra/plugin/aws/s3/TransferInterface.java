@@ -0,0 +1,45 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+
+/**
+ * Tuning of the S3 CRT client used for transfers, ignored in compatibility mode.
+ */
+public interface TransferInterface {
+    @Schema(
+        title = "The target throughput of the transfers, in gigabits per second.",
+        description = "The CRT client opens enough connections to reach this throughput, it should be set close to " +
+            "the network bandwidth of the worker. Defaults to 10 Gbps."
+    )
+    @PluginProperty
+    @Positive
+    Double getTargetThroughputInGbps();
+
+    @Schema(
+        title = "The minimum size of the parts of multipart transfers, in bytes.",
+        description = "Defaults to 8MB, larger parts reduce the number of requests for large objects."
+    )
+    @PluginProperty
+    @Min(5 * 1024 * 1024)
+    Long getMinimumPartSizeInBytes();
+
+    @Schema(
+        title = "The maximum number of concurrent requests of the transfers.",
+        description = "Defaults to the number needed to reach `targetThroughputInGbps`, or to the HTTP client `maxConnections` if set."
+    )
+    @PluginProperty
+    @Min(1)
+    Integer getMaxConcurrency();
+
+    @Schema(
+        title = "The size of the buffer used to read the data of uploads, in bytes.",
+        description = "Defaults to 80MB, a larger buffer can speed up uploads of large files."
+    )
+    @PluginProperty
+    @Min(1)
+    Long getInitialReadBufferSizeInBytes();
+}
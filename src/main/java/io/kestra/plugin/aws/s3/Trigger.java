@@ -1,7 +1,10 @@
 package io.kestra.plugin.aws.s3;
 
+import com.google.common.hash.Hashing;
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.conditions.ConditionContext;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.models.executions.ExecutionTrigger;
@@ -11,18 +14,34 @@ import io.kestra.core.models.triggers.PollingTriggerInterface;
 import io.kestra.core.models.triggers.TriggerContext;
 import io.kestra.core.models.triggers.TriggerOutput;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.IdUtils;
 import io.kestra.plugin.aws.AbstractConnectionInterface;
+import io.kestra.plugin.aws.HttpClientConfig;
+import io.kestra.plugin.aws.RateLimitConfig;
+import io.kestra.plugin.aws.RetryConfig;
 import io.kestra.plugin.aws.s3.models.S3Object;
+import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
-
-import static io.kestra.core.utils.Rethrow.throwFunction;
+import javax.validation.constraints.Min;
 
 @SuperBuilder
 @ToString
@@ -35,7 +54,9 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
         "You can search for all files in a bucket or directory in `from` or you can filter the files with a `regExp`. " +
         "The detection is atomic, internally we do a list and interact only with files listed.\n" +
         "Once a file is detected, we download the file on internal storage and processed with declared `action` " +
-        "in order to move or delete the files from the bucket (to avoid double detection on new poll)."
+        "in order to move or delete the files from the bucket (to avoid double detection on new poll).\n" +
+        "Alternatively, an `incremental` trigger keeps a high-water mark of the detected files in its state and only " +
+        "detects the files after it on the next poll, so the files can be left in place with the `NONE` action."
 )
 @Plugin(
     examples = {
@@ -68,10 +89,38 @@ import static io.kestra.core.utils.Rethrow.throwFunction;
                 "    moveTo: ",
                 "      key: archive",
             }
+        ),
+        @Example(
+            title = "Detect the new files of a s3 bucket without moving them, new files having greater keys than the previous ones.",
+            full = true,
+            code = {
+                "id: s3-incremental",
+                "namespace: io.kestra.tests",
+                "",
+                "tasks:",
+                "  - id: log",
+                "    type: io.kestra.core.tasks.log.Log",
+                "    message: \"{{ trigger.objects | jq('.[].key') }}\"",
+                "",
+                "triggers:",
+                "  - id: watch",
+                "    type: io.kestra.plugin.aws.s3.Trigger",
+                "    interval: \"PT5M\"",
+                "    accessKeyId: \"<access-key>\"",
+                "    secretKeyId: \"<secret-key>\"",
+                "    region: \"eu-central-1\"",
+                "    bucket: \"my-bucket\"",
+                "    prefix: \"events/\"",
+                "    action: NONE",
+                "    incremental: KEY",
+                "    maxObjects: 1000",
+            }
         )
     }
 )
-public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<List.Output>, ListInterface, ActionInterface, AbstractS3ObjectInterface, AbstractConnectionInterface {
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<List.Output>, ListInterface, ActionInterface, AbstractS3ObjectInterface, AbstractConnectionInterface, TransferInterface {
+    private static final String STATE = "s3-trigger";
+
     @Builder.Default
     private final Duration interval = Duration.ofSeconds(60);
 
@@ -85,6 +134,24 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
 
     protected String endpointOverride;
 
+    protected String stsRoleArn;
+
+    protected String stsRoleExternalId;
+
+    protected String stsRoleSessionName;
+
+    protected Duration stsRoleSessionDuration;
+
+    protected String stsEndpointOverride;
+
+    protected String stsWebIdentityTokenFile;
+
+    protected HttpClientConfig httpClient;
+
+    protected RetryConfig retry;
+
+    protected RateLimitConfig rateLimit;
+
     protected String requestPayer;
 
     protected String bucket;
@@ -100,6 +167,20 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
     @Builder.Default
     private Integer maxKeys = 1000;
 
+    @Schema(
+        title = "The maximum number of files detected by each poll.",
+        description = "The listing stops once this number of files matching `regexp` and `filter` is reached, " +
+            "so a single poll doesn't download a whole bucket. The following files are detected by the next polls, " +
+            "once the detected ones are moved or deleted by the `action`, or after the high-water mark with `incremental`. " +
+            "Before 1,000 was the default, all the files were detected by a single poll."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(1)
+    private Integer maxObjects = 1000;
+
+    private String inventoryManifest;
+
     private String expectedBucketOwner;
 
     protected String regexp;
@@ -111,64 +192,128 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
 
     private Copy.CopyObject moveTo;
 
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Schema(
+        title = "Only detect the files after the ones detected by the previous polls.",
+        description = "The high-water mark of the detected files is kept in the trigger state.\n" +
+            "- `KEY`: the files with a key greater than the greatest key detected, the listing starts after it. " +
+            "Requires keys growing with time, like date prefixed or ULID keys.\n" +
+            "- `LAST_MODIFIED`: the files modified after the latest modification date detected, oldest first. " +
+            "The whole prefix is listed on each poll, keeping only the detected files in memory, and a file whose upload started before the previous poll " +
+            "but ended after it may be missed.\n" +
+            "With `maxObjects`, each poll detects at most `maxObjects` files and the next ones are detected by the following polls."
+    )
+    @PluginProperty
+    private Incremental incremental;
+
+    @Schema(
+        title = "Whether to download the detected files to the internal storage.",
+        description = "Otherwise, the trigger only outputs the keys of the files, without `uri`, and the flow downloads " +
+            "the files it needs. The files must then be left in place with the `NONE` action."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean download = true;
+
+    @Schema(
+        title = "Number of files downloaded in parallel.",
+        description = "All the downloads share the same transfer manager and client connections."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(1)
+    private Integer concurrent = 1;
+
+    @Schema(
+        title = "The maximum number of bytes downloaded at the same time.",
+        description = "Limits the disk and memory used by parallel downloads of large files, based on the size of the listed files. " +
+            "A file larger than this limit is downloaded alone."
+    )
+    @PluginProperty
+    @Min(1)
+    private Long maxBytesInFlight;
+
     @Override
     public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
         RunContext runContext = conditionContext.getRunContext();
 
+        if (!this.download && this.action != ActionInterface.Action.NONE) {
+            throw new IllegalArgumentException("The files must be left in place with the `NONE` action when they aren't downloaded");
+        }
+
+        String stateName = this.incremental != null ? this.stateName(runContext) : null;
+        TriggerState state = this.incremental != null ? this.readState(runContext, stateName) : null;
+
+        String marker = runContext.render(this.marker);
+        if (this.incremental == Incremental.KEY && state != null && state.key() != null && (marker == null || state.key().compareTo(marker) > 0)) {
+            marker = state.key();
+        }
+
         List task = List.builder()
             .id(this.id)
             .type(List.class.getName())
-            .region(this.region)
-            .endpointOverride(this.endpointOverride)
-            .accessKeyId(this.accessKeyId)
-            .secretKeyId(this.secretKeyId)
+            .connection(this)
             .requestPayer(this.requestPayer)
             .bucket(this.bucket)
             .prefix(this.prefix)
             .delimiter(this.delimiter)
-            .marker(this.marker)
+            .marker(marker)
             .encodingType(this.encodingType)
             .maxKeys(this.maxKeys)
+            // the whole prefix is listed to find the files modified after the high-water mark
+            .maxObjects(this.incremental == Incremental.LAST_MODIFIED ? null : this.maxObjects)
+            .inventoryManifest(this.inventoryManifest)
             .expectedBucketOwner(this.expectedBucketOwner)
             .regexp(this.regexp)
             .filter(this.filter)
             .build();
-        List.Output run = task.run(runContext);
+        java.util.List<S3Object> objects = this.incremental == Incremental.LAST_MODIFIED ?
+            this.modified(runContext, task, state) :
+            task.run(runContext).getObjects();
 
-        if (run.getObjects().size() == 0) {
+        if (objects.size() == 0) {
             return Optional.empty();
         }
 
-        java.util.List<S3Object> list = run
-            .getObjects()
-            .stream()
-            .map(throwFunction(object -> {
-                Download download = Download.builder()
-                    .id(this.id)
-                    .type(List.class.getName())
-                    .region(this.region)
-                    .endpointOverride(this.endpointOverride)
-                    .accessKeyId(this.accessKeyId)
-                    .secretKeyId(this.secretKeyId)
-                    .requestPayer(this.requestPayer)
-                    .bucket(this.bucket)
-                    .key(object.getKey())
-                    .build();
-                Download.Output downloadOutput = download.run(runContext);
-
-                return object.withUri(downloadOutput.getUri());
-            }))
-            .collect(Collectors.toList());
+        java.util.List<S3Object> list = objects;
+        if (this.download) {
+            Downloads downloads = Downloads.builder()
+                .id(this.id)
+                .type(Downloads.class.getName())
+                .connection(this)
+                .requestPayer(this.requestPayer)
+                .bucket(this.bucket)
+                .concurrent(this.concurrent)
+                .maxBytesInFlight(this.maxBytesInFlight)
+                .targetThroughputInGbps(this.targetThroughputInGbps)
+                .minimumPartSizeInBytes(this.minimumPartSizeInBytes)
+                .maxConcurrency(this.maxConcurrency)
+                .initialReadBufferSizeInBytes(this.initialReadBufferSizeInBytes)
+                .build();
+
+            list = downloads.download(runContext, Flowable.fromIterable(objects), new ArrayList<>());
+        }
 
         S3Service.archive(
-            run.getObjects(),
+            objects,
             this.action,
             this.moveTo,
             runContext,
             this,
-            this,
             this
         );
+
+        if (this.incremental != null) {
+            this.writeState(runContext, stateName, TriggerState.of(state, objects));
+        }
+
         ExecutionTrigger executionTrigger = ExecutionTrigger.of(
             this,
             List.Output.builder().objects(list).build()
@@ -184,4 +329,116 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
 
         return Optional.of(execution);
     }
+
+    /**
+     * The oldest {@code maxObjects} files modified after the high-water mark, oldest first. The listing is streamed
+     * page by page and only these files are kept in memory.
+     */
+    private java.util.List<S3Object> modified(RunContext runContext, List task, TriggerState state) throws Exception {
+        Comparator<S3Object> order = Comparator.comparing(S3Object::getLastModified).thenComparing(S3Object::getKey);
+        int limit = this.maxObjects != null ? this.maxObjects : Integer.MAX_VALUE;
+
+        // the newest kept file on top, replaced by an older listed file once the limit is reached
+        PriorityQueue<S3Object> oldest = new PriorityQueue<>(order.reversed());
+
+        try (S3Client client = task.client(runContext)) {
+            S3Service.stream(runContext, client, task, task)
+                .filter(object -> {
+                    if (object.getLastModified() == null) {
+                        throw new IllegalArgumentException("Unable to detect the modified files, the last modification date of '" + object.getKey() + "' is unknown");
+                    }
+
+                    return state == null || state.before(object);
+                })
+                .blockingForEach(object -> {
+                    if (oldest.size() < limit) {
+                        oldest.add(object);
+                    } else if (order.compare(object, oldest.peek()) < 0) {
+                        oldest.poll();
+                        oldest.add(object);
+                    }
+                });
+        }
+
+        java.util.List<S3Object> objects = new ArrayList<>(oldest);
+        objects.sort(order);
+
+        return objects;
+    }
+
+    private String stateName(RunContext runContext) throws IllegalVariableEvaluationException {
+        // a new high-water mark is started when the listed files change
+        return this.id + "-" + Hashing.sha256().hashString(
+            this.incremental + ":" + runContext.render(this.bucket) + "/" + Objects.requireNonNullElse(runContext.render(this.prefix), ""),
+            StandardCharsets.UTF_8
+        );
+    }
+
+    private TriggerState readState(RunContext runContext, String name) throws IOException {
+        try (InputStream inputStream = runContext.getTaskStateFile(STATE, name, false, false)) {
+            return JacksonMapper.ofJson().readValue(inputStream, TriggerState.class);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private void writeState(RunContext runContext, String name, TriggerState state) throws IOException {
+        runContext.putTaskStateFile(JacksonMapper.ofJson().writeValueAsBytes(state), STATE, name, false, false);
+    }
+
+    public enum Incremental {
+        KEY,
+        LAST_MODIFIED
+    }
+
+    /**
+     * The high-water mark of the files detected by the previous polls: the greatest key, and the latest modification
+     * date with the keys modified at this date, as several files can share the same date at the second.
+     */
+    record TriggerState(String key, Instant lastModified, Set<String> keys) {
+        static TriggerState of(TriggerState previous, java.util.List<S3Object> objects) {
+            String key = objects.stream()
+                .map(S3Object::getKey)
+                .max(Comparator.naturalOrder())
+                .filter(max -> previous == null || previous.key() == null || max.compareTo(previous.key()) > 0)
+                .orElse(previous != null ? previous.key() : null);
+
+            Instant lastModified = objects.stream()
+                .map(S3Object::getLastModified)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+
+            if (previous != null && previous.lastModified() != null && (lastModified == null || !lastModified.isAfter(previous.lastModified()))) {
+                Set<String> keys = new TreeSet<>(previous.keys());
+                if (previous.lastModified().equals(lastModified)) {
+                    objects.forEach(object -> keys.add(object.getKey()));
+                }
+
+                return new TriggerState(key, previous.lastModified(), keys);
+            }
+
+            return new TriggerState(
+                key,
+                lastModified,
+                objects.stream()
+                    .filter(object -> lastModified != null && lastModified.equals(object.getLastModified()))
+                    .map(S3Object::getKey)
+                    .collect(Collectors.toCollection(TreeSet::new))
+            );
+        }
+
+        /**
+         * Whether the object was modified after this high-water mark.
+         */
+        boolean before(S3Object object) {
+            if (this.lastModified == null) {
+                return true;
+            }
+
+            int compare = object.getLastModified().compareTo(this.lastModified);
+
+            return compare > 0 || (compare == 0 && !this.keys.contains(object.getKey()));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.kestra.plugin.aws.s3;
 
+import com.google.common.io.CountingInputStream;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
@@ -16,11 +17,13 @@ import software.amazon.awssdk.transfer.s3.model.FileUpload;
 import software.amazon.awssdk.transfer.s3.model.UploadFileRequest;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.Map;
+import javax.validation.constraints.Min;
 
 @SuperBuilder
 @ToString
@@ -38,13 +41,27 @@ import java.util.Map;
                 "bucket: \"my-bucket\"",
                 "key: \"path/to/file\""
             }
+        ),
+        @Example(
+            title = "Upload a CSV export compressed with gzip.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "from: \"{{ outputs.export.uri }}\"",
+                "bucket: \"my-bucket\"",
+                "key: \"exports/customers.csv.gz\"",
+                "contentType: \"text/csv\"",
+                "compression: GZIP",
+                "streaming: true"
+            }
         )
     }
 )
 @Schema(
     title = "Upload a file to a S3 bucket."
 )
-public class Upload extends AbstractS3Object implements RunnableTask<Upload.Output> {
+public class Upload extends AbstractS3Object implements RunnableTask<Upload.Output>, TransferInterface {
     @Schema(
         title = "The file to upload."
     )
@@ -185,15 +202,58 @@ public class Upload extends AbstractS3Object implements RunnableTask<Upload.Outp
     @Builder.Default
     private Boolean compatibilityMode = false;
 
+    @Schema(
+        title = "Stream the file from the internal storage to S3, without a local copy.",
+        description = "The file is sent as a multipart upload of `partSize` parts, with at most `partsInFlight` parts in memory. " +
+            "Uploads are limited to 10,000 parts, so the part size must be increased for files larger than 80GB."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean streaming = false;
+
+    @Schema(
+        title = "The size of each part, in bytes, when `streaming` is enabled.",
+        description = "S3 requires parts of at least 5MB, except for the last one."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(5 * 1024 * 1024)
+    private Integer partSize = 8 * 1024 * 1024;
+
+    @Schema(
+        title = "The maximum number of parts uploaded at the same time when `streaming` is enabled.",
+        description = "Each part in flight is buffered in memory."
+    )
+    @PluginProperty
+    @Builder.Default
+    @Min(1)
+    private Integer partsInFlight = 4;
+
+    @Schema(
+        title = "Compress the file while uploading it.",
+        description = "The file is compressed as it is read from the internal storage, and the object is stored with the " +
+            "matching `contentEncoding` unless one is given: `gzip`, `zstd` or `x-snappy-framed` for the framing format of " +
+            "snappy. The size of the compressed file is unknown, so `contentLength` can't be used."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Compression compression = Compression.NONE;
+
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         String bucket = runContext.render(this.bucket);
         String key = runContext.render(this.key);
 
-        try (S3AsyncClient client = this.asyncClient(runContext)) {
-            File tempFile = runContext.tempFile().toFile();
+        try (S3AsyncClient client = this.asyncClient(runContext, this)) {
             URI from = new URI(runContext.render(this.from));
-            Files.copy(runContext.uriToInputStream(from), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 
             PutObjectRequest.Builder builder = PutObjectRequest
                 .builder()
@@ -218,6 +278,8 @@ public class Upload extends AbstractS3Object implements RunnableTask<Upload.Outp
 
             if (this.contentEncoding != null) {
                 builder.contentEncoding(runContext.render(this.contentEncoding));
+            } else if (this.compression != Compression.NONE) {
+                builder.contentEncoding(this.compression.contentEncoding());
             }
 
             if (this.contentDisposition != null) {
@@ -229,6 +291,10 @@ public class Upload extends AbstractS3Object implements RunnableTask<Upload.Outp
             }
 
             if (this.contentLength != null) {
+                if (this.compression != Compression.NONE) {
+                    throw new IllegalArgumentException("Invalid 'contentLength' parameter, the size of a compressed upload is unknown");
+                }
+
                 builder.contentLength(this.contentLength);
             }
 
@@ -294,8 +360,43 @@ public class Upload extends AbstractS3Object implements RunnableTask<Upload.Outp
                 );
             }
 
-            // use the transfer manager for uploading an S3 file will end up using 8MB upload parts.
+            if (this.streaming) {
+                long start = System.nanoTime();
+                PutObjectResponse response;
+                try (
+                    CountingInputStream inputStream = new CountingInputStream(runContext.uriToInputStream(from));
+                    InputStream compressed = this.compression.compressing(inputStream)
+                ) {
+                    response = S3Service.upload(runContext, client, builder.build(), compressed, this.partSize, this.partsInFlight);
+                    S3Service.throughput(runContext, inputStream.getCount(), start);
+                    if (this.compression != Compression.NONE) {
+                        runContext.metric(Counter.of("file.size.uncompressed", inputStream.getCount()));
+                    }
+                }
+
+                return Output
+                    .builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .eTag(response.eTag())
+                    .versionId(response.versionId())
+                    .build();
+            }
+
+            File tempFile = runContext.tempFile().toFile();
+            try (
+                CountingInputStream inputStream = new CountingInputStream(runContext.uriToInputStream(from));
+                InputStream compressed = this.compression.compressing(inputStream)
+            ) {
+                Files.copy(compressed, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                if (this.compression != Compression.NONE) {
+                    runContext.metric(Counter.of("file.size.uncompressed", inputStream.getCount()));
+                }
+            }
+
+            // use the transfer manager for uploading an S3 file will end up using `minimumPartSizeInBytes` upload parts, 8MB by default.
             try (S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()) {
+                long start = System.nanoTime();
                 FileUpload upload = transferManager.uploadFile(UploadFileRequest.builder()
                     .putObjectRequest(builder.build())
                     .source(tempFile)
@@ -305,6 +406,7 @@ public class Upload extends AbstractS3Object implements RunnableTask<Upload.Outp
                 PutObjectResponse response = upload.completionFuture().get().response();
 
                 runContext.metric(Counter.of("file.size", tempFile.length()));
+                S3Service.throughput(runContext, tempFile.length(), start);
                 return Output
                     .builder()
                     .bucket(bucket)
@@ -0,0 +1,322 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.tasks.NamespaceFiles;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.NamespaceFilesService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.aws.s3.models.Failure;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.apache.commons.io.FilenameUtils;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.CompletedDirectoryUpload;
+import software.amazon.awssdk.transfer.s3.model.UploadDirectoryRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+import javax.validation.constraints.NotNull;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Plugin(
+    examples = {
+        @Example(
+            title = "Mirror internal storage files to a prefix, only the new and modified files are uploaded.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "prefix: \"data/lake\"",
+                "from:",
+                "  customers/2023.csv: \"{{ outputs.extract.uri }}\"",
+                "  customers/2024.csv: \"{{ outputs.extract2024.uri }}\""
+            }
+        ),
+        @Example(
+            title = "Mirror the namespace files of the flow to a prefix.",
+            code = {
+                "accessKeyId: \"<access-key>\"",
+                "secretKeyId: \"<secret-key>\"",
+                "region: \"eu-central-1\"",
+                "bucket: \"my-bucket\"",
+                "prefix: \"scripts\"",
+                "namespaceFiles:",
+                "  enabled: true"
+            }
+        )
+    }
+)
+@Schema(
+    title = "Upload a set of files to a S3 prefix, skipping the unchanged ones.",
+    description = "The files are staged in a local directory and uploaded in parallel with the transfer manager. " +
+        "A file is unchanged when an object with the same key, size and content MD5 already exists under the prefix."
+)
+public class UploadDirectory extends AbstractS3Object implements RunnableTask<UploadDirectory.Output>, TransferInterface {
+    static final String MD5_METADATA = "kestra-md5";
+
+    @Schema(
+        title = "The key prefix where to upload the files."
+    )
+    @PluginProperty(dynamic = true)
+    @NotNull
+    private String prefix;
+
+    @Schema(
+        title = "The files to upload.",
+        description = "Can be a map of the path of the file, relative to the prefix, to an internal storage URI, or a list " +
+            "of internal storage URIs uploaded with their file name.",
+        anyOf = {Map.class, java.util.List.class}
+    )
+    @PluginProperty(dynamic = true)
+    private Object from;
+
+    @Schema(
+        title = "The namespace files to upload, with their path relative to the prefix."
+    )
+    @PluginProperty
+    private NamespaceFiles namespaceFiles;
+
+    @Schema(
+        title = "Whether to skip the files that are unchanged on S3.",
+        description = "Each file is compared with the object of the same key by size, then by the MD5 of its content, " +
+            "taken from the ETag of single part uploads or from the `kestra-md5` metadata set by this task."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean skipUnchanged = true;
+
+    @Schema(
+        title = "Whether to fail the task as soon as a file can't be uploaded.",
+        description = "Otherwise, the failed files are reported in `failures` and the task ends in `WARNING`."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean errorOnFailure = true;
+
+    @Schema(
+        title = "This property will use the AWS S3 DefaultAsyncClient instead of the S3CrtAsyncClient, which maximizes compatibility with S3-compatible services but restricts uploads and downloads to 2GB."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Boolean compatibilityMode = false;
+
+    private Double targetThroughputInGbps;
+
+    private Long minimumPartSizeInBytes;
+
+    private Integer maxConcurrency;
+
+    private Long initialReadBufferSizeInBytes;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        String bucket = runContext.render(this.bucket);
+        String prefix = S3Service.directoryPrefix(runContext.render(this.prefix));
+        String requestPayer = runContext.render(this.requestPayer);
+
+        Path directory = Files.createTempDirectory(runContext.tempDir(), "upload");
+        this.stage(runContext, directory);
+
+        Map<String, Path> files = new TreeMap<>();
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.filter(Files::isRegularFile)
+                .forEach(path -> files.put(prefix + FilenameUtils.separatorsToUnix(directory.relativize(path).toString()), path));
+        }
+
+        // the MD5 of each file, stored as metadata so unchanged multipart uploads can be detected
+        Map<String, String> md5s = new HashMap<>();
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            md5s.put(file.getKey(), S3Service.md5(file.getValue()));
+        }
+
+        int skipped = 0;
+        if (this.skipUnchanged) {
+            try (S3Client client = this.client(runContext)) {
+                Map<String, software.amazon.awssdk.services.s3.model.S3Object> existing = S3Service.listAll(client, bucket, prefix, requestPayer);
+
+                for (Map.Entry<String, Path> file : files.entrySet()) {
+                    if (this.unchanged(client, bucket, requestPayer, existing.get(file.getKey()), file.getValue(), md5s.get(file.getKey()))) {
+                        Files.delete(file.getValue());
+                        skipped++;
+                    }
+                }
+            }
+        }
+
+        long bytes = 0;
+        java.util.List<String> uploaded = new ArrayList<>();
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            if (Files.exists(file.getValue())) {
+                uploaded.add(file.getKey());
+                bytes += Files.size(file.getValue());
+            }
+        }
+
+        java.util.List<Failure> failures = new ArrayList<>();
+        if (!uploaded.isEmpty()) {
+            try (
+                S3AsyncClient client = this.asyncClient(runContext, this);
+                S3TransferManager transferManager = S3TransferManager.builder().s3Client(client).build()
+            ) {
+                long start = System.nanoTime();
+
+                UploadDirectoryRequest.Builder builder = UploadDirectoryRequest.builder()
+                    .source(directory)
+                    .bucket(bucket)
+                    .uploadFileRequestTransformer(request -> {
+                        var putObjectRequest = request.build().putObjectRequest();
+                        request.putObjectRequest(putObjectRequest.toBuilder()
+                            .metadata(Map.of(MD5_METADATA, md5s.get(putObjectRequest.key())))
+                            .requestPayer(requestPayer)
+                            .build()
+                        );
+                    });
+
+                if (!prefix.isEmpty()) {
+                    builder.s3Prefix(prefix);
+                }
+
+                CompletedDirectoryUpload completed = transferManager.uploadDirectory(builder.build())
+                    .completionFuture()
+                    .get();
+
+                completed.failedTransfers().forEach(failed -> {
+                    String key = failed.request().putObjectRequest().key();
+                    runContext.logger().warn("Unable to upload '{}'", key, failed.exception());
+                    failures.add(Failure.of(key, failed.exception().getMessage()));
+                    uploaded.remove(key);
+                });
+
+                if (!failures.isEmpty() && this.errorOnFailure) {
+                    throw new IOException("Unable to upload " + failures.size() + " file(s) to '" + bucket + "', first error: " + failures.get(0).getMessage(), completed.failedTransfers().get(0).exception());
+                }
+
+                S3Service.throughput(runContext, bytes, start);
+            }
+        }
+
+        runContext.metric(Counter.of("uploaded", uploaded.size()));
+        runContext.metric(Counter.of("skipped", skipped));
+        if (!failures.isEmpty()) {
+            runContext.metric(Counter.of("failures", failures.size()));
+        }
+
+        return Output.builder()
+            .bucket(bucket)
+            .uploaded(uploaded)
+            .skipped(skipped)
+            .failures(failures)
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stage(RunContext runContext, Path directory) throws Exception {
+        if (this.namespaceFiles != null && !Boolean.FALSE.equals(this.namespaceFiles.getEnabled())) {
+            Map<String, String> flow = (Map<String, String>) runContext.getVariables().get("flow");
+
+            runContext.getApplicationContext()
+                .getBean(NamespaceFilesService.class)
+                .inject(runContext, flow.get("tenantId"), flow.get("namespace"), directory, this.namespaceFiles);
+        }
+
+        if (this.from == null) {
+            return;
+        }
+
+        Map<String, String> files = new LinkedHashMap<>();
+        if (this.from instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                files.put(runContext.render(entry.getKey().toString()), runContext.render(entry.getValue().toString()));
+            }
+        } else if (this.from instanceof Collection<?> list) {
+            for (Object uri : list) {
+                String rendered = runContext.render(uri.toString());
+                files.put(FilenameUtils.getName(URI.create(rendered).getPath()), rendered);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid from parameter, must be a map of paths to internal storage URIs or a list of internal storage URIs");
+        }
+
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            Path path = directory.resolve(file.getKey()).normalize();
+            if (!path.startsWith(directory)) {
+                throw new IllegalArgumentException("Invalid path '" + file.getKey() + "', it must be relative to the prefix");
+            }
+
+            Files.createDirectories(path.getParent());
+            try (InputStream inputStream = runContext.uriToInputStream(new URI(file.getValue()))) {
+                Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private boolean unchanged(S3Client client, String bucket, String requestPayer, software.amazon.awssdk.services.s3.model.S3Object object, Path path, String md5) throws IOException {
+        if (object == null || object.size() == null || object.size() != Files.size(path)) {
+            return false;
+        }
+
+        String eTag = S3Service.unquote(object.eTag());
+        if (!S3Service.isMultipartETag(eTag)) {
+            return md5.equals(eTag);
+        }
+
+        // the ETag of a multipart upload isn't the MD5 of the content, compare with the one uploaded as metadata
+        HeadObjectResponse head = client.headObject(HeadObjectRequest.builder()
+            .bucket(bucket)
+            .key(object.key())
+            .requestPayer(requestPayer)
+            .build()
+        );
+
+        return md5.equals(head.metadata().get(MD5_METADATA));
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(
+            title = "The bucket of the uploaded files."
+        )
+        private final String bucket;
+
+        @Schema(
+            title = "The keys of the uploaded files."
+        )
+        private final java.util.List<String> uploaded;
+
+        @Schema(
+            title = "The number of unchanged files that were skipped."
+        )
+        private final Integer skipped;
+
+        @Schema(
+            title = "The files that couldn't be uploaded, when `errorOnFailure` is disabled."
+        )
+        private final java.util.List<Failure> failures;
+
+        @Override
+        public Optional<State.Type> finalState() {
+            return this.failures != null && !this.failures.isEmpty() ? Optional.of(State.Type.WARNING) : io.kestra.core.models.tasks.Output.super.finalState();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.kestra.plugin.aws.s3.models;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class Failure {
+    @Schema(title = "The key of the object.")
+    String key;
+
+    @Schema(title = "The error message.")
+    String message;
+
+    public static Failure of(String key, String message) {
+        return Failure.builder()
+            .key(key)
+            .message(message)
+            .build();
+    }
+}
@@ -10,6 +10,10 @@ public class Owner {
     String displayName;
 
     public static Owner of(software.amazon.awssdk.services.s3.model.Owner object) {
+        if (object == null) {
+            return null;
+        }
+
         return Owner.builder()
             .id(object.id())
             .displayName(object.displayName())
@@ -10,11 +10,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
-import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
 import software.amazon.awssdk.services.sns.SnsClient;
 
-import java.net.URI;
 import javax.validation.constraints.NotNull;
 
 @SuperBuilder
@@ -29,17 +27,10 @@ abstract class AbstractSns  extends AbstractConnection {
     private String topicArn;
 
     protected SnsClient client(RunContext runContext) throws IllegalVariableEvaluationException {
-        var builder = SnsClient.builder()
-            .httpClient(ApacheHttpClient.create())
-            .credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            builder.region(Region.of(runContext.render(this.region)));
-        }
-        if (this.endpointOverride != null) {
-            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
+        return this.client(runContext, SnsClient.class, SnsClient::builder);
+    }
 
-        return builder.build();
+    protected SnsAsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.client(runContext, SnsAsyncClient.class, SnsAsyncClient::builder);
     }
 }
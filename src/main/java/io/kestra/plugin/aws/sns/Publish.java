@@ -14,13 +14,19 @@ import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.services.sns.SnsClient;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
 import software.amazon.awssdk.services.sns.model.PublishRequest;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 @SuperBuilder
@@ -48,6 +54,9 @@ import javax.validation.constraints.NotNull;
     }
 )
 public class Publish extends AbstractSns implements RunnableTask<Publish.Output> {
+    private static final int MAX_ENTRIES_PER_REQUEST = 10;
+    private static final long MAX_BYTES_PER_REQUEST = 256 * 1024;
+
     @PluginProperty(dynamic = true)
     @NotNull
     @Schema(
@@ -56,14 +65,25 @@ public class Publish extends AbstractSns implements RunnableTask<Publish.Output>
     )
     private Object from;
 
+    @Min(1)
+    @Schema(
+        title = "Maximum number of batches of messages published at the same time.",
+        description = "The messages are published by batches of up to 10 messages and 256 KiB, " +
+            "except the SMS messages with a `phoneNumber` that are published one by one. " +
+            "Each batch in flight holds a connection, so `httpClient.maxConnections` should be at least this value. " +
+            "Messages may be published out of order when greater than 1."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Integer concurrent = 1;
+
     @SuppressWarnings("unchecked")
     @Override
     public Publish.Output run(RunContext runContext) throws Exception {
         var topicArn = runContext.render(getTopicArn());
-        try (var snsClient = this.client(runContext)) {
+        try (var snsClient = this.asyncClient(runContext)) {
             Integer count;
             Flowable<Message> flowable;
-            Flowable<Integer> resultFlowable;
 
             if (this.from instanceof String) {
                 URI from = new URI(runContext.render((String) this.from));
@@ -73,24 +93,19 @@ public class Publish extends AbstractSns implements RunnableTask<Publish.Output>
 
                 try (BufferedReader inputStream = new BufferedReader(new InputStreamReader(runContext.uriToInputStream(from)))) {
                     flowable = Flowable.create(FileSerde.reader(inputStream, Message.class), BackpressureStrategy.BUFFER);
-                    resultFlowable = this.buildFlowable(flowable, snsClient, topicArn, runContext);
 
-                    count = resultFlowable.reduce(Integer::sum).blockingGet();
+                    count = this.send(flowable, snsClient, topicArn, runContext);
                 }
-
             } else if (this.from instanceof List) {
                 flowable = Flowable
                     .fromArray(((List<Message>) this.from).toArray())
                     .cast(Message.class);
 
-                resultFlowable = this.buildFlowable(flowable, snsClient, topicArn, runContext);
-
-                count = resultFlowable.reduce(Integer::sum).blockingGet();
+                count = this.send(flowable, snsClient, topicArn, runContext);
             } else {
-                var msg = JacksonMapper.toMap(this.from, Message.class);
-                snsClient.publish(msg.to(PublishRequest.builder().topicArn(topicArn), runContext));
+                flowable = Flowable.just(JacksonMapper.toMap(this.from, Message.class));
 
-                count = 1;
+                count = this.send(flowable, snsClient, topicArn, runContext);
             }
 
             // metrics
@@ -102,12 +117,83 @@ public class Publish extends AbstractSns implements RunnableTask<Publish.Output>
         }
     }
 
-    private Flowable<Integer> buildFlowable(Flowable<Message> flowable, SnsClient snsClient, String topicArn, RunContext runContext) {
+    private Integer send(Flowable<Message> flowable, SnsAsyncClient snsClient, String topicArn, RunContext runContext) {
         return flowable
-            .map(message -> {
-                snsClient.publish(message.to(PublishRequest.builder().topicArn(topicArn), runContext));
-                return 1;
-            });
+            .map(message -> message.to(PublishRequest.builder().topicArn(topicArn), runContext))
+            .buffer(MAX_ENTRIES_PER_REQUEST)
+            .concatMapIterable(this::batches)
+            .flatMapSingle(
+                batch -> {
+                    if (batch.get(0).phoneNumber() != null) {
+                        return single(() -> snsClient.publish(batch.get(0))).map(response -> 1);
+                    }
+
+                    return single(() -> snsClient.publishBatch(this.batchRequest(topicArn, batch)))
+                        .map(response -> {
+                            if (response.hasFailed() && !response.failed().isEmpty()) {
+                                BatchResultErrorEntry error = response.failed().get(0);
+                                throw new Exception("Unable to publish " + response.failed().size() + " message(s) to '" + topicArn + "', " +
+                                    "first error: " + error.code() + " " + error.message());
+                            }
+
+                            return batch.size();
+                        });
+                },
+                false,
+                this.concurrent
+            )
+            .reduce(0, Integer::sum)
+            .blockingGet();
+    }
+
+    /**
+     * Split the requests into batches, keeping their order. The entries of a batch can't have a phone number, so each
+     * SMS is published alone, between the batches of the messages before and after it.
+     */
+    private List<List<PublishRequest>> batches(List<PublishRequest> requests) {
+        List<List<PublishRequest>> batches = new ArrayList<>();
+        List<PublishRequest> topic = new ArrayList<>();
+
+        for (PublishRequest request : requests) {
+            if (request.phoneNumber() == null) {
+                topic.add(request);
+                continue;
+            }
+
+            batches.addAll(batches(topic, this::size, MAX_BYTES_PER_REQUEST));
+            batches.add(List.of(request));
+            topic = new ArrayList<>();
+        }
+
+        batches.addAll(batches(topic, this::size, MAX_BYTES_PER_REQUEST));
+
+        return batches;
+    }
+
+    private long size(PublishRequest request) {
+        return request.message().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private PublishBatchRequest batchRequest(String topicArn, List<PublishRequest> batch) {
+        List<PublishBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PublishRequest request = batch.get(i);
+            entries.add(PublishBatchRequestEntry.builder()
+                // only unique in the batch
+                .id(String.valueOf(i))
+                .message(request.message())
+                .messageGroupId(request.messageGroupId())
+                .messageDeduplicationId(request.messageDeduplicationId())
+                .subject(request.subject())
+                .messageStructure(request.messageStructure())
+                .build()
+            );
+        }
+
+        return PublishBatchRequest.builder()
+            .topicArn(topicArn)
+            .publishBatchRequestEntries(entries)
+            .build();
     }
 
     @Builder
@@ -10,13 +10,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sns.SnsClient;
 import software.amazon.awssdk.services.sns.model.CreateTopicRequest;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsClient;
 
-import java.net.URI;
 import javax.validation.constraints.NotNull;
 
 @SuperBuilder
@@ -24,21 +22,14 @@ import javax.validation.constraints.NotNull;
 @EqualsAndHashCode
 @Getter
 @NoArgsConstructor
-abstract class AbstractSqs  extends AbstractConnection implements SqsConnectionInterface {
+public abstract class AbstractSqs extends AbstractConnection implements SqsConnectionInterface {
     private String queueUrl;
 
-    protected SqsClient client(RunContext runContext) throws IllegalVariableEvaluationException {
-        var builder = SqsClient.builder()
-            .httpClient(ApacheHttpClient.create())
-            .credentialsProvider(this.credentials(runContext));
-
-        if (this.region != null) {
-            builder.region(Region.of(runContext.render(this.region)));
-        }
-        if (this.endpointOverride != null) {
-            builder.endpointOverride(URI.create(runContext.render(this.endpointOverride)));
-        }
+    public SqsClient client(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.client(runContext, SqsClient.class, SqsClient::builder);
+    }
 
-        return builder.build();
+    public SqsAsyncClient asyncClient(RunContext runContext) throws IllegalVariableEvaluationException {
+        return this.client(runContext, SqsAsyncClient.class, SqsAsyncClient::builder);
     }
 }
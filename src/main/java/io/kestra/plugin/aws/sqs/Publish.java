@@ -14,13 +14,19 @@ import io.reactivex.Flowable;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 @SuperBuilder
@@ -48,6 +54,9 @@ import javax.validation.constraints.NotNull;
     }
 )
 public class Publish extends AbstractSqs implements RunnableTask<Publish.Output> {
+    private static final int MAX_ENTRIES_PER_REQUEST = 10;
+    private static final long MAX_BYTES_PER_REQUEST = 256 * 1024;
+
     @PluginProperty(dynamic = true)
     @NotNull
     @Schema(
@@ -57,14 +66,24 @@ public class Publish extends AbstractSqs implements RunnableTask<Publish.Output>
     )
     private Object from;
 
+    @Min(1)
+    @Schema(
+        title = "Maximum number of batches of messages published at the same time.",
+        description = "The messages are sent by batches of up to 10 messages and 256 KiB. " +
+            "Each batch in flight holds a connection, so `httpClient.maxConnections` should be at least this value. " +
+            "Messages may be published out of order when greater than 1."
+    )
+    @PluginProperty
+    @Builder.Default
+    private Integer concurrent = 1;
+
     @SuppressWarnings("unchecked")
     @Override
     public Output run(RunContext runContext) throws Exception {
         var queueUrl = runContext.render(getQueueUrl());
-        try (var sqsClient = this.client(runContext)) {
+        try (var sqsClient = this.asyncClient(runContext)) {
             Integer count;
             Flowable<Message> flowable;
-            Flowable<Integer> resultFlowable;
 
             if (this.from instanceof String) {
                 URI from = new URI(runContext.render((String) this.from));
@@ -74,24 +93,19 @@ public class Publish extends AbstractSqs implements RunnableTask<Publish.Output>
 
                 try (BufferedReader inputStream = new BufferedReader(new InputStreamReader(runContext.uriToInputStream(from)))) {
                     flowable = Flowable.create(FileSerde.reader(inputStream, Message.class), BackpressureStrategy.BUFFER);
-                    resultFlowable = this.buildFlowable(flowable, sqsClient, queueUrl, runContext);
 
-                    count = resultFlowable.reduce(Integer::sum).blockingGet();
+                    count = this.send(flowable, sqsClient, queueUrl, runContext);
                 }
-
             } else if (this.from instanceof List) {
                 flowable = Flowable
                     .fromArray(((List<Message>) this.from).toArray())
                     .cast(Message.class);
 
-                resultFlowable = this.buildFlowable(flowable, sqsClient, queueUrl, runContext);
-
-                count = resultFlowable.reduce(Integer::sum).blockingGet();
+                count = this.send(flowable, sqsClient, queueUrl, runContext);
             } else {
-                var msg = JacksonMapper.toMap(this.from, Message.class);
-                sqsClient.sendMessage(msg.to(SendMessageRequest.builder().queueUrl(queueUrl), runContext));
+                flowable = Flowable.just(JacksonMapper.toMap(this.from, Message.class));
 
-                count = 1;
+                count = this.send(flowable, sqsClient, queueUrl, runContext);
             }
 
             // metrics
@@ -103,12 +117,48 @@ public class Publish extends AbstractSqs implements RunnableTask<Publish.Output>
         }
     }
 
-    private Flowable<Integer> buildFlowable(Flowable<Message> flowable, SqsClient sqsClient, String queueUrl, RunContext runContext) {
+    private Integer send(Flowable<Message> flowable, SqsAsyncClient sqsClient, String queueUrl, RunContext runContext) {
         return flowable
-            .map(message -> {
-                sqsClient.sendMessage(message.to(SendMessageRequest.builder().queueUrl(queueUrl), runContext));
-                return 1;
-            });
+            .map(message -> message.to(SendMessageRequest.builder().queueUrl(queueUrl), runContext))
+            .buffer(MAX_ENTRIES_PER_REQUEST)
+            .concatMapIterable(requests -> batches(requests, request -> request.messageBody().getBytes(StandardCharsets.UTF_8).length, MAX_BYTES_PER_REQUEST))
+            .flatMapSingle(
+                batch -> single(() -> sqsClient.sendMessageBatch(this.batchRequest(queueUrl, batch)))
+                    .map(response -> {
+                        if (response.hasFailed() && !response.failed().isEmpty()) {
+                            BatchResultErrorEntry error = response.failed().get(0);
+                            throw new Exception("Unable to send " + response.failed().size() + " message(s) to '" + queueUrl + "', " +
+                                "first error: " + error.code() + " " + error.message());
+                        }
+
+                        return batch.size();
+                    }),
+                false,
+                this.concurrent
+            )
+            .reduce(0, Integer::sum)
+            .blockingGet();
+    }
+
+    private SendMessageBatchRequest batchRequest(String queueUrl, List<SendMessageRequest> batch) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            SendMessageRequest request = batch.get(i);
+            entries.add(SendMessageBatchRequestEntry.builder()
+                // only unique in the batch
+                .id(String.valueOf(i))
+                .messageBody(request.messageBody())
+                .messageGroupId(request.messageGroupId())
+                .messageDeduplicationId(request.messageDeduplicationId())
+                .delaySeconds(request.delaySeconds())
+                .build()
+            );
+        }
+
+        return SendMessageBatchRequest.builder()
+            .queueUrl(queueUrl)
+            .entries(entries)
+            .build();
     }
 
     @Builder
@@ -13,6 +13,9 @@ import io.kestra.core.models.triggers.TriggerContext;
 import io.kestra.core.models.triggers.TriggerOutput;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.aws.HttpClientConfig;
+import io.kestra.plugin.aws.RateLimitConfig;
+import io.kestra.plugin.aws.RetryConfig;
 import io.kestra.plugin.aws.sqs.model.SerdeType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -59,6 +62,24 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
 
     private String endpointOverride;
 
+    private String stsRoleArn;
+
+    private String stsRoleExternalId;
+
+    private String stsRoleSessionName;
+
+    private Duration stsRoleSessionDuration;
+
+    private String stsEndpointOverride;
+
+    private String stsWebIdentityTokenFile;
+
+    private HttpClientConfig httpClient;
+
+    private RetryConfig retry;
+
+    private RateLimitConfig rateLimit;
+
     @Builder.Default
     private final Duration interval = Duration.ofSeconds(60);
 
@@ -83,11 +104,7 @@ public class Trigger extends AbstractTrigger implements PollingTriggerInterface,
 
         Consume task = Consume.builder()
             .queueUrl(runContext.render(queueUrl))
-            .accessKeyId(runContext.render(accessKeyId))
-            .secretKeyId(runContext.render(secretKeyId))
-            .sessionToken(runContext.render(sessionToken))
-            .region(runContext.render(region))
-            .endpointOverride(runContext.render(endpointOverride))
+            .connection(this)
             .maxRecords(this.maxRecords)
             .maxDuration(this.maxDuration)
             .serdeType(this.serdeType)
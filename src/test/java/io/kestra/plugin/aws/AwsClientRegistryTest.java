@@ -0,0 +1,235 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+class AwsClientRegistryTest {
+    @Test
+    void shared() {
+        AwsClientRegistry registry = new AwsClientRegistry(10, Duration.ofMinutes(5));
+        AtomicInteger created = new AtomicInteger();
+
+        FakeClient first = registry.acquire(FakeClient.class, "key", () -> new DefaultFakeClient(created.incrementAndGet()));
+        FakeClient second = registry.acquire(FakeClient.class, "key", () -> new DefaultFakeClient(created.incrementAndGet()));
+
+        assertThat(first.id(), is(1));
+        assertThat(second.id(), is(1));
+        assertThat(created.get(), is(1));
+
+        first.close();
+        assertThat(first.closed(), is(false));
+
+        FakeClient other = registry.acquire(FakeClient.class, "other", () -> new DefaultFakeClient(created.incrementAndGet()));
+        assertThat(other.id(), is(2));
+        assertThat(registry.size(), is(2));
+    }
+
+    @Test
+    void idleEviction() {
+        AwsClientRegistry registry = new AwsClientRegistry(10, Duration.ZERO);
+
+        FakeClient client = registry.acquire(FakeClient.class, "key", () -> new DefaultFakeClient(1));
+        registry.evict();
+        assertThat(client.closed(), is(false));
+        assertThat(registry.size(), is(1));
+
+        client.close();
+        // closing twice must not release another reference
+        client.close();
+        registry.evict();
+
+        assertThat(client.closed(), is(true));
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    void maxSize() {
+        AwsClientRegistry registry = new AwsClientRegistry(2, Duration.ofMinutes(5));
+
+        FakeClient first = registry.acquire(FakeClient.class, "first", () -> new DefaultFakeClient(1));
+        first.close();
+        FakeClient second = registry.acquire(FakeClient.class, "second", () -> new DefaultFakeClient(2));
+        FakeClient third = registry.acquire(FakeClient.class, "third", () -> new DefaultFakeClient(3));
+
+        assertThat(registry.size(), is(2));
+        assertThat(first.closed(), is(true));
+        assertThat(second.closed(), is(false));
+        assertThat(third.closed(), is(false));
+    }
+
+    @Test
+    void failedFactory() throws Exception {
+        AwsClientRegistry registry = new AwsClientRegistry(10, Duration.ZERO);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        Thread failing = new Thread(() -> {
+            try {
+                registry.acquire(FakeClient.class, "key", () -> {
+                    creating.countDown();
+                    try {
+                        fail.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    throw new IllegalStateException("unable to create the client");
+                });
+            } catch (IllegalStateException ignored) {
+            }
+        });
+        failing.start();
+        creating.await();
+
+        // another lease waits for the client of the same entry
+        AtomicReference<FakeClient> waiting = new AtomicReference<>();
+        Thread waiter = new Thread(() -> waiting.set(registry.acquire(FakeClient.class, "key", () -> new DefaultFakeClient(2))));
+        waiter.start();
+        while (waiter.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(1);
+        }
+
+        fail.countDown();
+        failing.join();
+        waiter.join();
+
+        // the entry is still tracked, so the client is closed once released
+        assertThat(waiting.get().id(), is(2));
+        assertThat(registry.size(), is(1));
+
+        waiting.get().close();
+        registry.evict();
+        assertThat(waiting.get().closed(), is(true));
+        assertThat(registry.size(), is(0));
+
+        // a failure without other leases drops the entry
+        try {
+            registry.acquire(FakeClient.class, "other", () -> {
+                throw new IllegalStateException("unable to create the client");
+            });
+        } catch (IllegalStateException ignored) {
+        }
+        assertThat(registry.size(), is(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void paginator() {
+        AwsClientRegistry registry = new AwsClientRegistry(10, Duration.ofMinutes(5));
+        RunContext runContext = mock(RunContext.class);
+        AtomicInteger requests = new AtomicInteger();
+        AwsClientRegistry.LeaseHandler counter = new AwsClientRegistry.LeaseHandler() {
+            @Override
+            public long delayNanos(SdkRequest request) {
+                requests.incrementAndGet();
+
+                return 0;
+            }
+        };
+        S3Client lease = registry.acquire(S3Client.class, "key", PagedS3Client::new, AwsClientRegistry.LeaseHandler.of(new AwsMetrics(runContext), counter));
+
+        assertThat(lease.listObjectsV2Paginator(ListObjectsV2Request.builder().bucket("bucket").build()).contents().stream().count(), is(3L));
+        lease.close();
+
+        // each page is delayed by the handler, like the rate limiter does
+        assertThat(requests.get(), is(3));
+
+        ArgumentCaptor<AbstractMetricEntry<?>> captor = ArgumentCaptor.forClass(AbstractMetricEntry.class);
+        verify(runContext, atLeastOnce()).metric(captor.capture());
+
+        assertThat(
+            captor.getAllValues().stream().filter(entry -> entry.getName().equals("aws.api.calls")).findFirst().orElseThrow().getValue(),
+            is(3D)
+        );
+    }
+
+    public interface FakeClient extends SdkAutoCloseable {
+        int id();
+
+        boolean closed();
+    }
+
+    private static class DefaultFakeClient implements FakeClient {
+        private final int id;
+        private boolean closed = false;
+
+        private DefaultFakeClient(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int id() {
+            return this.id;
+        }
+
+        @Override
+        public boolean closed() {
+            return this.closed;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+
+    /**
+     * Lists 3 pages of one object, and publishes the metrics of each call like the SDK does.
+     */
+    private static class PagedS3Client implements S3Client {
+        @Override
+        public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+            MetricCollector collector = MetricCollector.create("ApiCall");
+            collector.reportMetric(CoreMetric.SERVICE_ID, "S3");
+            collector.reportMetric(CoreMetric.OPERATION_NAME, "ListObjectsV2");
+            collector.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, true);
+            MetricCollection metrics = collector.collect();
+            request.overrideConfiguration()
+                .ifPresent(configuration -> configuration.metricPublishers().forEach(publisher -> publisher.publish(metrics)));
+
+            int page = request.continuationToken() == null ? 1 : Integer.parseInt(request.continuationToken());
+
+            return ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("key-" + page).build())
+                .isTruncated(page < 3)
+                .nextContinuationToken(page < 3 ? String.valueOf(page + 1) : null)
+                .build();
+        }
+
+        // like the SDK clients overriding the paginators, bound to the client itself
+        @Override
+        public ListObjectsV2Iterable listObjectsV2Paginator(ListObjectsV2Request request) {
+            return new ListObjectsV2Iterable(this, request);
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
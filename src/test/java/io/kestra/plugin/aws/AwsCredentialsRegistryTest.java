@@ -0,0 +1,141 @@
+package io.kestra.plugin.aws;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AwsCredentialsRegistryTest {
+    @Test
+    void shared() {
+        AwsCredentialsRegistry registry = new AwsCredentialsRegistry(10, Duration.ofMinutes(5));
+        AtomicInteger created = new AtomicInteger();
+
+        AwsCredentialsProvider first = registry.get("key", () -> new FakeProvider(created.incrementAndGet()));
+        AwsCredentialsProvider second = registry.get("key", () -> new FakeProvider(created.incrementAndGet()));
+
+        assertThat(first.resolveCredentials().accessKeyId(), is("1"));
+        assertThat(second.resolveCredentials().accessKeyId(), is("1"));
+        assertThat(created.get(), is(1));
+        assertThat(first, not(instanceOf(AutoCloseable.class)));
+
+        AwsCredentialsProvider other = registry.get("other", () -> new FakeProvider(created.incrementAndGet()));
+        assertThat(other.resolveCredentials().accessKeyId(), is("2"));
+        assertThat(registry.size(), is(2));
+    }
+
+    @Test
+    void idleEviction() {
+        AwsCredentialsRegistry registry = new AwsCredentialsRegistry(10, Duration.ZERO);
+        AtomicInteger created = new AtomicInteger();
+
+        AwsCredentialsProvider provider = registry.get("key", () -> new FakeProvider(created.incrementAndGet()));
+        assertThat(provider.resolveCredentials().accessKeyId(), is("1"));
+
+        registry.evict();
+        assertThat(registry.size(), is(0));
+
+        // an evicted provider is recreated on next use
+        assertThat(provider.resolveCredentials().accessKeyId(), is("2"));
+        assertThat(registry.size(), is(1));
+    }
+
+    @Test
+    void maxSize() {
+        AwsCredentialsRegistry registry = new AwsCredentialsRegistry(1, Duration.ofMinutes(5));
+        FakeProvider first = new FakeProvider(1);
+        FakeProvider second = new FakeProvider(2);
+
+        registry.get("first", () -> first).resolveCredentials();
+        registry.get("second", () -> second).resolveCredentials();
+        registry.evict();
+
+        assertThat(registry.size(), is(1));
+        assertThat(first.closed, is(true));
+        assertThat(second.closed, is(false));
+    }
+
+    @Test
+    void inUseNotEvicted() throws Exception {
+        AwsCredentialsRegistry registry = new AwsCredentialsRegistry(10, Duration.ZERO);
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        FakeProvider blocking = new FakeProvider(1) {
+            @Override
+            public AwsCredentials resolveCredentials() {
+                resolving.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                return super.resolveCredentials();
+            }
+        };
+
+        AwsCredentialsProvider provider = registry.get("key", () -> blocking);
+        AtomicReference<AwsCredentials> credentials = new AtomicReference<>();
+        Thread thread = new Thread(() -> credentials.set(provider.resolveCredentials()));
+        thread.start();
+        resolving.await();
+
+        registry.evict();
+        assertThat(registry.size(), is(1));
+        assertThat(blocking.closed, is(false));
+
+        resume.countDown();
+        thread.join();
+        assertThat(credentials.get().accessKeyId(), is("1"));
+
+        registry.evict();
+        assertThat(registry.size(), is(0));
+        assertThat(blocking.closed, is(true));
+    }
+
+    @Test
+    void failedFactory() {
+        AwsCredentialsRegistry registry = new AwsCredentialsRegistry(10, Duration.ofMinutes(5));
+        AtomicInteger created = new AtomicInteger();
+
+        AwsCredentialsProvider failing = registry.get("key", () -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThrows(IllegalStateException.class, failing::resolveCredentials);
+        assertThat(registry.size(), is(0));
+
+        AwsCredentialsProvider provider = registry.get("key", () -> new FakeProvider(created.incrementAndGet()));
+        assertThat(provider.resolveCredentials().accessKeyId(), is("1"));
+    }
+
+    private static class FakeProvider implements AwsCredentialsProvider, SdkAutoCloseable {
+        private final int id;
+        private boolean closed = false;
+
+        private FakeProvider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public AwsCredentials resolveCredentials() {
+            return AwsBasicCredentials.create(String.valueOf(this.id), "secret");
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
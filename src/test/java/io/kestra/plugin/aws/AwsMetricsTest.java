@@ -0,0 +1,118 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class AwsMetricsTest {
+    @Test
+    void request() {
+        AwsMetrics metrics = new AwsMetrics(mock(RunContext.class));
+
+        SendMessageRequest request = SendMessageRequest.builder()
+            .queueUrl("queue")
+            .overrideConfiguration(o -> o.apiCallTimeout(Duration.ofSeconds(5)))
+            .build();
+
+        SendMessageRequest decorated = (SendMessageRequest) metrics.request(request);
+
+        assertThat(decorated.queueUrl(), is("queue"));
+        assertThat(decorated.overrideConfiguration().orElseThrow().apiCallTimeout(), is(java.util.Optional.of(Duration.ofSeconds(5))));
+        assertThat(decorated.overrideConfiguration().orElseThrow().metricPublishers(), contains(metrics));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void released() {
+        RunContext runContext = mock(RunContext.class);
+        AwsMetrics metrics = new AwsMetrics(runContext);
+
+        metrics.publish(apiCall(true, Duration.ofMillis(30), null));
+        metrics.publish(apiCall(false, Duration.ofSeconds(2), "Throttling"));
+        metrics.released();
+
+        ArgumentCaptor<AbstractMetricEntry<?>> captor = ArgumentCaptor.forClass(AbstractMetricEntry.class);
+        verify(runContext, atLeastOnce()).metric(captor.capture());
+
+        List<AbstractMetricEntry<?>> entries = captor.getAllValues();
+        Map<String, Object> values = entries.stream()
+            .filter(entry -> !entry.getName().equals("aws.api.latency"))
+            .collect(Collectors.toMap(AbstractMetricEntry::getName, AbstractMetricEntry::getValue));
+
+        assertThat(values.get("aws.api.calls"), is(2D));
+        assertThat(values.get("aws.api.errors"), is(1D));
+        assertThat(values.get("aws.api.attempts"), is(4D));
+        assertThat(values.get("aws.api.throttled"), is(1D));
+        assertThat(values.get("aws.api.duration"), is(Duration.ofMillis(2030)));
+        assertThat(values.get("aws.api.connection.acquire"), is(Duration.ofMillis(4)));
+        assertThat(entries.get(0).getTags(), allOf(hasEntry("service", "SQS"), hasEntry("operation", "SendMessage")));
+
+        Map<String, Object> latency = entries.stream()
+            .filter(entry -> entry.getName().equals("aws.api.latency"))
+            .collect(Collectors.toMap(entry -> entry.getTags().get("bucket"), AbstractMetricEntry::getValue));
+        assertThat(latency, is(Map.of("<=50ms", 1D, "<=5000ms", 1D)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishedAfterRelease() throws Exception {
+        RunContext runContext = mock(RunContext.class);
+        AwsMetrics metrics = new AwsMetrics(runContext);
+
+        AwsClientRegistry registry = new AwsClientRegistry(10, Duration.ofMinutes(5));
+        SdkAutoCloseable lease = registry.acquire(SdkAutoCloseable.class, "key", () -> () -> {}, metrics);
+
+        // an async call started on the lease, completing once the lease is closed
+        CompletableFuture<Void> call = new CompletableFuture<>();
+        CompletableFuture<Void> published = call.thenRun(() -> metrics.publish(apiCall(true, Duration.ofMillis(30), null)));
+
+        metrics.publish(apiCall(true, Duration.ofMillis(30), null));
+        lease.close();
+        call.complete(null);
+        published.get();
+
+        ArgumentCaptor<AbstractMetricEntry<?>> captor = ArgumentCaptor.forClass(AbstractMetricEntry.class);
+        verify(runContext, atLeastOnce()).metric(captor.capture());
+
+        double calls = captor.getAllValues().stream()
+            .filter(entry -> entry.getName().equals("aws.api.calls"))
+            .mapToDouble(entry -> (Double) entry.getValue())
+            .sum();
+        assertThat(calls, is(2D));
+    }
+
+    private static software.amazon.awssdk.metrics.MetricCollection apiCall(boolean successful, Duration duration, String errorType) {
+        MetricCollector collector = MetricCollector.create("ApiCall");
+        collector.reportMetric(CoreMetric.SERVICE_ID, "SQS");
+        collector.reportMetric(CoreMetric.OPERATION_NAME, "SendMessage");
+        collector.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, successful);
+        collector.reportMetric(CoreMetric.API_CALL_DURATION, duration);
+
+        for (int i = 0; i < 2; i++) {
+            MetricCollector attempt = collector.createChild("ApiCallAttempt");
+            if (errorType != null && i == 0) {
+                attempt.reportMetric(CoreMetric.ERROR_TYPE, errorType);
+            }
+
+            attempt.createChild("HttpClient").reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(1));
+        }
+
+        return collector.collect();
+    }
+}
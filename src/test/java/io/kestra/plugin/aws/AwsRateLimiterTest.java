@@ -0,0 +1,78 @@
+package io.kestra.plugin.aws;
+
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.sqs.model.ListQueuesRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class AwsRateLimiterTest {
+    @Test
+    void resource() {
+        assertThat(AwsRateLimiter.resource(SendMessageRequest.builder().queueUrl("queue").build()), is("sqs:queue"));
+        assertThat(AwsRateLimiter.resource(ListQueuesRequest.builder().build()), is("sqs"));
+        assertThat(AwsRateLimiter.resource(GetObjectRequest.builder().bucket("bucket").key("a/b/file.csv").build()), is("s3:bucket/a/b/"));
+        assertThat(AwsRateLimiter.resource(GetObjectRequest.builder().bucket("bucket").key("file.csv").build()), is("s3:bucket/"));
+    }
+
+    @Test
+    void delay() {
+        AwsRateLimiter rateLimiter = new AwsRateLimiter(mock(RunContext.class), RateLimitConfig.builder()
+            .requestsPerSecond(10D)
+            .burst(2)
+            .build()
+        );
+
+        SendMessageRequest request = SendMessageRequest.builder().queueUrl(IdUtils.create()).build();
+
+        assertThat(rateLimiter.delayNanos(request), is(0L));
+        assertThat(rateLimiter.delayNanos(request), is(0L));
+
+        // each request over the burst is spread by 100ms
+        long third = rateLimiter.delayNanos(request);
+        long fourth = rateLimiter.delayNanos(request);
+        assertThat(third, allOf(greaterThan(TimeUnit.MILLISECONDS.toNanos(50)), lessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100))));
+        assertThat(fourth - third, allOf(greaterThan(TimeUnit.MILLISECONDS.toNanos(90)), lessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100))));
+
+        // other resources have their own bucket
+        assertThat(rateLimiter.delayNanos(SendMessageRequest.builder().queueUrl(IdUtils.create()).build()), is(0L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void released() {
+        RunContext runContext = mock(RunContext.class);
+        AwsRateLimiter rateLimiter = new AwsRateLimiter(runContext, RateLimitConfig.builder()
+            .requestsPerSecond(1D)
+            .build()
+        );
+
+        SendMessageRequest request = SendMessageRequest.builder().queueUrl(IdUtils.create()).build();
+        rateLimiter.delayNanos(request);
+        rateLimiter.delayNanos(request);
+        rateLimiter.delayNanos(request);
+        rateLimiter.released();
+
+        ArgumentCaptor<AbstractMetricEntry<?>> captor = ArgumentCaptor.forClass(AbstractMetricEntry.class);
+        verify(runContext, times(2)).metric(captor.capture());
+
+        List<AbstractMetricEntry<?>> entries = captor.getAllValues();
+        Map<String, Object> values = entries.stream()
+            .collect(Collectors.toMap(AbstractMetricEntry::getName, AbstractMetricEntry::getValue));
+
+        assertThat(values.get("aws.ratelimit.delayed"), is(2D));
+        assertThat(values, hasKey("aws.ratelimit.wait"));
+    }
+}
@@ -0,0 +1,162 @@
+package io.kestra.plugin.aws.benchmark;
+
+import com.google.common.collect.ImmutableMap;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.utils.TestsUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Measures benchmark scenarios and writes them as a JSON report.
+ * <p>
+ * API latencies are computed from the {@code aws.api.*} metrics of the task runs: percentiles are the upper bound
+ * of the {@code aws.api.latency} bucket they fall into.
+ */
+@Slf4j
+class BenchmarkReport {
+    private final RunContextFactory runContextFactory;
+    private final int size;
+    private final Instant startedAt = Instant.now();
+    private final List<Map<String, Object>> scenarios = new ArrayList<>();
+
+    BenchmarkReport(RunContextFactory runContextFactory, int size) {
+        this.runContextFactory = runContextFactory;
+        this.size = size;
+    }
+
+    /**
+     * Run a scenario once, {@code scenario} returns the number of items processed.
+     */
+    synchronized void measure(String name, Scenario scenario) throws Exception {
+        Measurement measurement = new Measurement();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans()
+            .stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        long items = scenario.run(measurement);
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("items", items);
+        result.put("durationMs", duration.toMillis());
+        result.put("throughputPerSecond", items * 1_000_000_000D / Math.max(1, duration.toNanos()));
+        result.put("heapPeakBytes", heapPeak);
+        result.putAll(measurement.api());
+
+        log.info("Benchmark {}: {}", name, result);
+        this.scenarios.add(result);
+    }
+
+    synchronized void write(Path path) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("version", System.getProperty("benchmark.version"));
+        report.put("size", this.size);
+        report.put("startedAt", this.startedAt.toString());
+        report.put("java", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        report.put("scenarios", this.scenarios);
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        JacksonMapper.ofJson().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+
+        log.info("Benchmark report written to {}", path.toAbsolutePath());
+    }
+
+    interface Scenario {
+        long run(Measurement measurement) throws Exception;
+    }
+
+    class Measurement {
+        private final Queue<RunContext> runContexts = new ConcurrentLinkedQueue<>();
+
+        /**
+         * A run context for {@code task}, its metrics are part of the scenario results.
+         */
+        RunContext runContext(Task task) {
+            RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, ImmutableMap.of());
+            this.runContexts.add(runContext);
+
+            return runContext;
+        }
+
+        private Map<String, Object> api() {
+            double calls = 0;
+            double errors = 0;
+            double throttled = 0;
+            Duration duration = Duration.ZERO;
+            // bucket upper bound in milliseconds to count, the last bucket being unbounded
+            TreeMap<Long, Double> latency = new TreeMap<>();
+
+            for (RunContext runContext : this.runContexts) {
+                for (AbstractMetricEntry<?> metric : runContext.metrics()) {
+                    switch (metric.getName()) {
+                        case "aws.api.calls" -> calls += (Double) metric.getValue();
+                        case "aws.api.errors" -> errors += (Double) metric.getValue();
+                        case "aws.api.throttled" -> throttled += (Double) metric.getValue();
+                        case "aws.api.duration" -> duration = duration.plus((Duration) metric.getValue());
+                        case "aws.api.latency" -> latency.merge(upperBound(metric.getTags().get("bucket")), (Double) metric.getValue(), Double::sum);
+                        default -> {
+                        }
+                    }
+                }
+            }
+
+            Map<String, Object> api = new LinkedHashMap<>();
+            api.put("apiCalls", (long) calls);
+            api.put("apiErrors", (long) errors);
+            api.put("apiThrottled", (long) throttled);
+            api.put("apiLatencyMeanMs", calls > 0 ? duration.toMillis() / calls : null);
+            api.put("apiLatencyP50Ms", percentile(latency, 0.50));
+            api.put("apiLatencyP99Ms", percentile(latency, 0.99));
+
+            return api;
+        }
+
+        private static long upperBound(String bucket) {
+            return bucket.startsWith("<=") ? Long.parseLong(bucket.substring(2, bucket.length() - 2)) : Long.MAX_VALUE;
+        }
+
+        private static Long percentile(TreeMap<Long, Double> latency, double percentile) {
+            double total = latency.values().stream().mapToDouble(Double::doubleValue).sum();
+            double seen = 0;
+
+            for (Map.Entry<Long, Double> bucket : latency.entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= total * percentile) {
+                    // over the last bounded bucket
+                    return bucket.getKey() == Long.MAX_VALUE ? null : bucket.getKey();
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package io.kestra.plugin.aws.benchmark;
+
+import com.google.common.collect.Lists;
+import io.kestra.core.models.tasks.common.FetchOutput;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.aws.AbstractLocalStackTest;
+import io.kestra.plugin.aws.dynamodb.Scan;
+import io.kestra.plugin.aws.kinesis.PutRecords;
+import io.kestra.plugin.aws.kinesis.model.Record;
+import io.kestra.plugin.aws.s3.CreateBucket;
+import io.kestra.plugin.aws.s3.DeleteList;
+import io.kestra.plugin.aws.s3.Downloads;
+import io.kestra.plugin.aws.s3.Upload;
+import io.kestra.plugin.aws.sqs.Consume;
+import io.kestra.plugin.aws.sqs.Publish;
+import io.kestra.plugin.aws.sqs.model.Message;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.*;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.kinesis.KinesisClient;
+import software.amazon.awssdk.services.kinesis.model.StreamStatus;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * End-to-end throughput of the main tasks against LocalStack, run with {@code ./gradlew benchmark}.
+ * <p>
+ * The number of objects, messages, items and records is set with {@code -PbenchmarkSize} (10,000 by default), the
+ * JSON report is written to {@code build/reports/benchmark} unless {@code -PbenchmarkReport} is set.
+ */
+@MicronautTest
+@Testcontainers
+@Tag("benchmark")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ThroughputBenchmarkTest extends AbstractLocalStackTest {
+    private static final int SIZE = Integer.getInteger("benchmark.size", 10_000);
+    private static final int UPLOAD_CONCURRENCY = 32;
+    private static final String BUCKET = "benchmark-" + IdUtils.create().toLowerCase();
+    private static final String PREFIX = "benchmark/";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Inject
+    private StorageInterface storageInterface;
+
+    private BenchmarkReport report;
+
+    @BeforeEach
+    void setup() {
+        if (this.report == null) {
+            this.report = new BenchmarkReport(this.runContextFactory, SIZE);
+        }
+    }
+
+    @AfterAll
+    void writeReport() throws Exception {
+        if (this.report != null) {
+            this.report.write(Path.of(System.getProperty("benchmark.report", "build/reports/benchmark/benchmark.json")));
+        }
+    }
+
+    @Test
+    @Order(1)
+    void s3Upload() throws Exception {
+        CreateBucket createBucket = CreateBucket.builder()
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .id(IdUtils.create())
+            .type(CreateBucket.class.getName())
+            .bucket(BUCKET)
+            .build();
+        createBucket.run(runContextFactory.of());
+
+        URI source = storageInterface.put(null, new URI("/" + IdUtils.create()), new ByteArrayInputStream(new byte[1024]));
+
+        this.report.measure("s3.Upload", measurement -> {
+            ExecutorService executor = Executors.newFixedThreadPool(UPLOAD_CONCURRENCY);
+            try {
+                List<Future<?>> uploads = new ArrayList<>();
+                for (int i = 0; i < SIZE; i++) {
+                    Upload upload = Upload.builder()
+                        .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+                        .region(localstack.getRegion())
+                        .accessKeyId(localstack.getAccessKey())
+                        .secretKeyId(localstack.getSecretKey())
+                        .id(IdUtils.create())
+                        .type(Upload.class.getName())
+                        .bucket(BUCKET)
+                        .from(source.toString())
+                        .key(PREFIX + i)
+                        .build();
+
+                    uploads.add(executor.submit(() -> upload.run(measurement.runContext(upload))));
+                }
+
+                for (Future<?> upload : uploads) {
+                    upload.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            return SIZE;
+        });
+    }
+
+    @Test
+    @Order(2)
+    void s3Downloads() throws Exception {
+        this.report.measure("s3.Downloads", measurement -> {
+            Downloads downloads = Downloads.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(Downloads.class.getName())
+                .bucket(BUCKET)
+                .prefix(PREFIX)
+                .build();
+
+            return downloads.run(measurement.runContext(downloads)).getObjects().size();
+        });
+    }
+
+    @Test
+    @Order(3)
+    void s3DeleteList() throws Exception {
+        this.report.measure("s3.DeleteList", measurement -> {
+            DeleteList deleteList = DeleteList.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(DeleteList.class.getName())
+                .bucket(BUCKET)
+                .prefix(PREFIX)
+                .concurrent(UPLOAD_CONCURRENCY)
+                .build();
+
+            return deleteList.run(measurement.runContext(deleteList)).getCount();
+        });
+    }
+
+    @Test
+    @Order(4)
+    void sqsPublishThenConsume() throws Exception {
+        String queueUrl;
+        try (SqsClient client = client(SqsClient.builder(), LocalStackContainer.Service.SQS)) {
+            queueUrl = client.createQueue(request -> request.queueName("benchmark-" + IdUtils.create())).queueUrl();
+        }
+
+        RunContext runContext = runContextFactory.of();
+        URI messages = ion(runContext, IntStream.range(0, SIZE)
+            .mapToObj(i -> Message.builder().data("{\"id\":" + i + ",\"name\":\"message " + i + "\"}").build())
+            .toList()
+        );
+
+        this.report.measure("sqs.Publish", measurement -> {
+            Publish publish = Publish.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SQS).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(Publish.class.getName())
+                .queueUrl(queueUrl)
+                .from(messages.toString())
+                .concurrent(UPLOAD_CONCURRENCY)
+                .build();
+
+            return publish.run(measurement.runContext(publish)).getMessagesCount();
+        });
+
+        this.report.measure("sqs.Consume", measurement -> {
+            Consume consume = Consume.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SQS).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(Consume.class.getName())
+                .queueUrl(queueUrl)
+                .maxRecords(SIZE)
+                .build();
+
+            Consume.Output output = consume.run(measurement.runContext(consume));
+            assertThat(output.getCount(), is(SIZE));
+
+            return output.getCount();
+        });
+    }
+
+    @Test
+    @Order(5)
+    void dynamoDbScan() throws Exception {
+        String tableName = "benchmark-" + IdUtils.create();
+
+        try (DynamoDbClient client = client(DynamoDbClient.builder(), LocalStackContainer.Service.DYNAMODB)) {
+            client.createTable(request -> request
+                .tableName(tableName)
+                .attributeDefinitions(AttributeDefinition.builder().attributeName("id").attributeType(ScalarAttributeType.S).build())
+                .keySchema(KeySchemaElement.builder().attributeName("id").keyType(KeyType.HASH).build())
+                .billingMode(BillingMode.PAY_PER_REQUEST)
+            );
+
+            for (List<Integer> batch : Lists.partition(IntStream.range(0, SIZE).boxed().toList(), 25)) {
+                client.batchWriteItem(request -> request.requestItems(Map.of(
+                    tableName,
+                    batch.stream()
+                        .map(i -> WriteRequest.builder()
+                            .putRequest(PutRequest.builder().item(Map.of(
+                                "id", AttributeValue.fromS(String.valueOf(i)),
+                                "name", AttributeValue.fromS("item " + i),
+                                "count", AttributeValue.fromN(String.valueOf(i)),
+                                "active", AttributeValue.fromBool(i % 2 == 0)
+                            )).build())
+                            .build()
+                        )
+                        .toList()
+                )));
+            }
+        }
+
+        this.report.measure("dynamodb.Scan", measurement -> {
+            Scan scan = Scan.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.DYNAMODB).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(Scan.class.getName())
+                .tableName(tableName)
+                .fetchType(FetchType.STORE)
+                .build();
+
+            FetchOutput output = scan.run(measurement.runContext(scan));
+
+            return output.getSize();
+        });
+    }
+
+    @Test
+    @Order(6)
+    void kinesisPutRecords() throws Exception {
+        String streamName = "benchmark-" + IdUtils.create();
+
+        try (KinesisClient client = client(KinesisClient.builder(), LocalStackContainer.Service.KINESIS)) {
+            client.createStream(request -> request.streamName(streamName).shardCount(4));
+            while (client.describeStream(request -> request.streamName(streamName)).streamDescription().streamStatus() != StreamStatus.ACTIVE) {
+                Thread.sleep(100);
+            }
+        }
+
+        RunContext runContext = runContextFactory.of();
+        URI records = ion(runContext, IntStream.range(0, SIZE)
+            .mapToObj(i -> Record.builder().partitionKey(String.valueOf(i)).data("{\"id\":" + i + "}").build())
+            .toList()
+        );
+
+        this.report.measure("kinesis.PutRecords", measurement -> {
+            PutRecords putRecords = PutRecords.builder()
+                .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.KINESIS).toString())
+                .region(localstack.getRegion())
+                .accessKeyId(localstack.getAccessKey())
+                .secretKeyId(localstack.getSecretKey())
+                .id(IdUtils.create())
+                .type(PutRecords.class.getName())
+                .streamName(streamName)
+                .records(records.toString())
+                .concurrent(4)
+                .build();
+
+            return putRecords.run(measurement.runContext(putRecords)).getRecordCount();
+        });
+    }
+
+
+    private static <B extends AwsClientBuilder<B, C>, C> C client(B builder, LocalStackContainer.Service service) {
+        return builder
+            .endpointOverride(localstack.getEndpointOverride(service))
+            .region(Region.of(localstack.getRegion()))
+            .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(localstack.getAccessKey(), localstack.getSecretKey())))
+            .build();
+    }
+
+    private static URI ion(RunContext runContext, List<?> rows) throws Exception {
+        File tempFile = runContext.tempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(tempFile)) {
+            for (Object row : rows) {
+                FileSerde.write(output, row);
+            }
+        }
+
+        return runContext.putTempFile(tempFile);
+    }
+}
@@ -37,6 +37,8 @@ import java.io.FileOutputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.kestra.core.utils.Rethrow.throwConsumer;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -254,6 +256,36 @@ class PutRecordsTest {
         assertThat(outputEntries.get(2).getRecord().getData(), equalTo(record3.getData()));
     }
 
+    @Test
+    void runBatches() throws Exception {
+        var runContext = runContextFactory.of();
+
+        List<Record> records = IntStream.range(0, 1200)
+            .mapToObj(i -> Record.builder()
+                .partitionKey("partitionKey" + i)
+                .data("record " + i)
+                .build()
+            )
+            .collect(Collectors.toList());
+
+        var put = PutRecords.builder()
+            .endpointOverride(localstack.getEndpoint().toString())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .streamName("streamName")
+            .records(records)
+            .concurrent(4)
+            .build();
+
+        List<PutRecords.OutputEntry> outputEntries = getOutputEntries(put, runContext);
+        assertThat(outputEntries, hasSize(1200));
+        for (int i = 0; i < outputEntries.size(); i++) {
+            assertThat(outputEntries.get(i).getSequenceNumber(), notNullValue());
+            assertThat(outputEntries.get(i).getRecord().getData(), equalTo("record " + i));
+        }
+    }
+
     /**
      * Test that user can use AWS notation in json
      */
@@ -79,7 +79,8 @@ public class InvokeTest extends AbstractInvokeTest {
                 "Invokation should thrown an exception");
 
         // Then
-        assertTrue(context.metrics().size() == 0, "Metrics should not be present");
+        assertTrue(context.metrics().stream().noneMatch(m -> !m.getName().startsWith("aws.api.")), "Metrics should not be present");
+        assertTrue(context.metrics().stream().anyMatch(m -> m.getName().equals("aws.api.errors")), "Metric aws.api.errors should be present");
     }
 
     @Test
@@ -107,7 +108,7 @@ public class InvokeTest extends AbstractInvokeTest {
                 "Invokation should fail");
 
         // Then
-        assertTrue(context.metrics().size() == 0, "Metrics should not be present");
+        assertTrue(context.metrics().stream().noneMatch(m -> !m.getName().startsWith("aws.api.")), "Metrics should not be present");
     }
 
 }
@@ -60,14 +60,19 @@ public abstract class AbstractTest extends AbstractLocalStackTest {
     }
 
     protected String upload(String dir, String bucket) throws Exception {
+        return this.put(bucket, dir + "/" + IdUtils.create() + ".yml");
+    }
+
+    /**
+     * Upload the test file to a fixed {@code key}.
+     */
+    protected String put(String bucket, String key) throws Exception {
         URI source = storageInterface.put(
             null,
             new URI("/" + IdUtils.create()),
             new FileInputStream(file())
         );
 
-        String out = IdUtils.create();
-
         Upload upload = Upload.builder()
             .id(AllTest.class.getSimpleName())
             .type(Upload.class.getName())
@@ -77,7 +82,7 @@ public abstract class AbstractTest extends AbstractLocalStackTest {
             .secretKeyId(localstack.getSecretKey())
             .region(localstack.getRegion())
             .from(source.toString())
-            .key(dir + "/" + out + ".yml")
+            .key(key)
             .build();
         upload.run(runContext(upload));
 
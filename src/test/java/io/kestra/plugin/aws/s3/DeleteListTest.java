@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 
@@ -30,5 +31,9 @@ class DeleteListTest extends AbstractTest {
         DeleteList.Output run = task.run(runContext(task));
         assertThat(run.getCount(), is(10L));
         assertThat(run.getSize(), greaterThan(1000L));
+        assertThat(run.getFailures(), empty());
+
+        List list = list().build();
+        assertThat(list.run(runContext(list)).getObjects().size(), is(0));
     }
 }
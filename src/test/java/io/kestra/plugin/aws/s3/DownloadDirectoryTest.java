@@ -0,0 +1,69 @@
+package io.kestra.plugin.aws.s3;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+class DownloadDirectoryTest extends AbstractTest {
+    @Test
+    void skipUnchanged() throws Exception {
+        this.createBucket();
+
+        upload("tasks/sync-download");
+        upload("tasks/sync-download");
+
+        DownloadDirectory task = DownloadDirectory.builder()
+            .id(DownloadDirectoryTest.class.getSimpleName())
+            .type(DownloadDirectory.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .prefix("tasks/sync-download")
+            .build();
+
+        DownloadDirectory.Output run = task.run(runContext(task));
+        assertThat(run.getFiles().size(), is(2));
+        assertThat(run.getDownloaded(), hasSize(2));
+
+        // only the new object is downloaded, the unchanged ones are copied from the previous execution
+        String added = upload("tasks/sync-download");
+        DownloadDirectory.Output second = task.run(runContext(task));
+        assertThat(second.getFiles().size(), is(3));
+        assertThat(second.getDownloaded(), hasSize(1));
+        assertThat(second.getDownloaded().get(0), is(added));
+        assertThat(second.getFailures(), empty());
+        for (Map.Entry<String, URI> file : run.getFiles().entrySet()) {
+            URI copy = second.getFiles().get(file.getKey());
+            assertThat(copy, not(file.getValue()));
+            assertThat(content(copy), is(content(file.getValue())));
+        }
+
+        // an unchanged object purged from the internal storage is downloaded again
+        Map.Entry<String, URI> purged = second.getFiles().entrySet().iterator().next();
+        storageInterface.delete(null, purged.getValue());
+        DownloadDirectory.Output third = task.run(runContext(task));
+        assertThat(third.getFiles().size(), is(3));
+        assertThat(third.getDownloaded(), contains("tasks/sync-download/" + purged.getKey()));
+        assertThat(third.getFailures(), empty());
+        assertThat(content(third.getFiles().get(purged.getKey())), is(content(run.getFiles().values().iterator().next())));
+    }
+
+    private byte[] content(URI uri) throws IOException {
+        try (InputStream inputStream = storageInterface.get(null, uri)) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
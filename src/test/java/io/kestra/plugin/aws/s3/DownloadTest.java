@@ -0,0 +1,102 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.runners.RunContext;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class DownloadTest extends AbstractTest {
+    private Download.DownloadBuilder<?, ?> download(String key) {
+        return Download.builder()
+            .id(DownloadTest.class.getSimpleName())
+            .type(Download.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .key(key);
+    }
+
+    private byte[] content(Download.Output output) throws Exception {
+        try (InputStream inputStream = storageInterface.get(null, output.getUri())) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    void range() throws Exception {
+        this.createBucket();
+        String key = upload("tasks/aws/range");
+        byte[] expected = Files.readAllBytes(file().toPath());
+
+        Download task = download(key).range("bytes=-10").build();
+        Download.Output output = task.run(runContext(task));
+        assertThat(output.getContentLength(), is(10L));
+        assertThat(content(output), is(Arrays.copyOfRange(expected, expected.length - 10, expected.length)));
+
+        // the ranges are concatenated in their order
+        task = download(key).range(java.util.List.of("bytes=5-9", "bytes=0-4")).build();
+        output = task.run(runContext(task));
+        byte[] content = content(output);
+        assertThat(Arrays.copyOfRange(content, 0, 5), is(Arrays.copyOfRange(expected, 5, 10)));
+        assertThat(Arrays.copyOfRange(content, 5, 10), is(Arrays.copyOfRange(expected, 0, 5)));
+    }
+
+    @Test
+    void parallel() throws Exception {
+        this.createBucket();
+        String key = upload("tasks/aws/parallel");
+        byte[] expected = Files.readAllBytes(file().toPath());
+
+        Download task = download(key)
+            .concurrent(4)
+            .partSize(16L)
+            .build();
+        Download.Output output = task.run(runContext(task));
+
+        assertThat(output.getContentLength(), is((long) expected.length));
+        assertThat(content(output), is(expected));
+
+        task = download(key)
+            .concurrent(4)
+            .checksumValidation(true)
+            .build();
+        output = task.run(runContext(task));
+
+        assertThat(content(output), is(expected));
+    }
+
+    @Test
+    void cache() throws Exception {
+        this.createBucket();
+        String key = upload("tasks/aws/cache");
+        byte[] expected = Files.readAllBytes(file().toPath());
+
+        Download task = download(key).cache(true).build();
+        RunContext runContext = runContext(task);
+        Download.Output output = task.run(runContext);
+        assertThat(content(output), is(expected));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("cache.misses")), is(true));
+
+        // unchanged, served from the cache
+        runContext = runContext(task);
+        output = task.run(runContext);
+        assertThat(content(output), is(expected));
+        assertThat(output.getContentLength(), is((long) expected.length));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("cache.hits")), is(true));
+
+        // never shared with other credentials
+        task = download(key).cache(true).accessKeyId("other").build();
+        runContext = runContext(task);
+        output = task.run(runContext);
+        assertThat(content(output), is(expected));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("cache.misses")), is(true));
+    }
+}
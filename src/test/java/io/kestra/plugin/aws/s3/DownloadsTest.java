@@ -1,6 +1,7 @@
 package io.kestra.plugin.aws.s3;
 
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.aws.s3.models.S3Object;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.localstack.LocalStackContainer;
@@ -8,6 +9,7 @@ import org.testcontainers.containers.localstack.LocalStackContainer;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 
@@ -33,7 +35,7 @@ class DownloadsTest extends AbstractTest {
             .action(ActionInterface.Action.DELETE)
             .build();
 
-        List.Output run = task.run(runContext(task));
+        Downloads.Output run = task.run(runContext(task));
 
         assertThat(run.getObjects().size(), is(2));
         assertThat(run.getObjects().get(0).getUri().toString(), endsWith(".yml"));
@@ -43,6 +45,42 @@ class DownloadsTest extends AbstractTest {
         assertThat(listOutput.getObjects().size(), is(0));
     }
 
+    @Test
+    void concurrent() throws Exception {
+        this.createBucket();
+
+        for (int i = 0; i < 5; i++) {
+            upload("/tasks/s3-concurrent");
+        }
+
+        Downloads task = Downloads.builder()
+            .id(DownloadsTest.class.getSimpleName())
+            .type(Downloads.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .prefix("/tasks/s3-concurrent")
+            .concurrent(3)
+            .maxBytesInFlight(1024L)
+            .build();
+
+        Downloads.Output run = task.run(runContext(task));
+
+        assertThat(run.getObjects().size(), is(5));
+        assertThat(run.getFailures(), empty());
+
+        // the listing order is kept
+        List list = list().prefix("/tasks/s3-concurrent").build();
+        List.Output listOutput = list.run(runContext(list));
+        assertThat(
+            run.getObjects().stream().map(S3Object::getKey).toList(),
+            is(listOutput.getObjects().stream().map(S3Object::getKey).toList())
+        );
+        assertThat(run.getObjects().stream().allMatch(object -> object.getUri() != null), is(true));
+    }
+
     @Test
     void move() throws Exception {
         this.createBucket();
@@ -65,7 +103,7 @@ class DownloadsTest extends AbstractTest {
             )
             .build();
 
-        List.Output run = task.run(runContextFactory.of(Map.of("bucket", this.BUCKET)));
+        Downloads.Output run = task.run(runContextFactory.of(Map.of("bucket", this.BUCKET)));
 
         assertThat(run.getObjects().size(), is(2));
 
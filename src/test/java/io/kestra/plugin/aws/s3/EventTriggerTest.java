@@ -0,0 +1,171 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.aws.s3.models.S3Object;
+import io.kestra.plugin.aws.sqs.Consume;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Event;
+import software.amazon.awssdk.services.s3.model.NotificationConfiguration;
+import software.amazon.awssdk.services.s3.model.PutBucketNotificationConfigurationRequest;
+import software.amazon.awssdk.services.s3.model.QueueConfiguration;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.CreateQueueRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class EventTriggerTest extends AbstractTest {
+    private SqsClient sqsClient() throws Exception {
+        return Consume.builder()
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SQS).toString())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .build()
+            .client(runContextFactory.of());
+    }
+
+    /**
+     * A queue receiving the object created events of {@code bucket}.
+     */
+    private String queue(String bucket) throws Exception {
+        String queueUrl;
+        try (SqsClient sqsClient = sqsClient()) {
+            queueUrl = sqsClient.createQueue(CreateQueueRequest.builder().queueName(bucket).build()).queueUrl();
+            String queueArn = sqsClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                .queueUrl(queueUrl)
+                .attributeNames(QueueAttributeName.QUEUE_ARN)
+                .build()
+            ).attributes().get(QueueAttributeName.QUEUE_ARN);
+
+            try (S3Client s3Client = list().build().client(runContextFactory.of())) {
+                s3Client.putBucketNotificationConfiguration(PutBucketNotificationConfigurationRequest.builder()
+                    .bucket(bucket)
+                    .notificationConfiguration(NotificationConfiguration.builder()
+                        .queueConfigurations(QueueConfiguration.builder()
+                            .queueArn(queueArn)
+                            .events(Event.S3_OBJECT_CREATED)
+                            .build()
+                        )
+                        .build()
+                    )
+                    .build()
+                );
+            }
+        }
+
+        return queueUrl;
+    }
+
+    private EventTrigger.EventTriggerBuilder<?, ?> trigger(String queueUrl, String bucket) {
+        return EventTrigger.builder()
+            .id(EventTriggerTest.class.getSimpleName() + IdUtils.create())
+            .type(EventTrigger.class.getName())
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .queueUrl(queueUrl)
+            .bucket(bucket)
+            .prefix("events/in/")
+            .waitTime(java.time.Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static java.util.List<S3Object> objects(Execution execution) {
+        return (java.util.List<S3Object>) execution.getTrigger().getVariables().get("objects");
+    }
+
+    @Test
+    void created() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        String queueUrl = queue(bucket);
+
+        String first = upload("events/in", bucket);
+        String second = upload("events/in", bucket);
+        upload("events/out", bucket);
+
+        EventTrigger trigger = trigger(queueUrl, bucket).concurrent(2).build();
+
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(execution.isPresent(), is(true));
+
+        java.util.List<S3Object> objects = objects(execution.get());
+        assertThat(objects.stream().map(S3Object::getKey).toList(), containsInAnyOrder(first, second));
+        assertThat(objects.get(0).getUri(), notNullValue());
+
+        // the messages are consumed, and the files are left in place with the default action
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        assertThat(list().bucket(bucket).build().run(runContext(list().build())).getObjects().size(), is(3));
+    }
+
+    @Test
+    void invalidMessage() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        String queueUrl = queue(bucket);
+
+        try (SqsClient sqsClient = sqsClient()) {
+            sqsClient.sendMessage(SendMessageRequest.builder().queueUrl(queueUrl).messageBody("not an event").build());
+            sqsClient.sendMessage(SendMessageRequest.builder().queueUrl(queueUrl).messageBody("{\"Records\": \"none\"}").build());
+        }
+
+        String key = upload("events/in", bucket);
+
+        EventTrigger trigger = trigger(queueUrl, bucket).deleteUnmatched(true).build();
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(execution.isPresent(), is(true));
+        assertThat(objects(execution.get()).stream().map(S3Object::getKey).toList(), contains(key));
+
+        // the invalid messages are deleted with the others
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        try (SqsClient sqsClient = sqsClient()) {
+            assertThat(sqsClient.receiveMessage(ReceiveMessageRequest.builder().queueUrl(queueUrl).build()).messages(), empty());
+        }
+    }
+
+    @Test
+    void unmatchedKept() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        String queueUrl = queue(bucket);
+
+        String key = upload("events/in", bucket);
+        String other = upload("events/out", bucket);
+
+        EventTrigger trigger = trigger(queueUrl, bucket).visibilityTimeout(java.time.Duration.ofSeconds(1)).build();
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(execution.isPresent(), is(true));
+        assertThat(objects(execution.get()).stream().map(S3Object::getKey).toList(), contains(key));
+
+        // only the message of the detected file is deleted, the other one is visible again for the other consumers
+        try (SqsClient sqsClient = sqsClient()) {
+            java.util.List<Message> messages = sqsClient.receiveMessage(ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .waitTimeSeconds(5)
+                .build()
+            ).messages();
+
+            assertThat(messages.size(), is(1));
+            assertThat(messages.get(0).body(), containsString(other));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class HeadObjectsTest extends AbstractTest {
+    private HeadObjects.HeadObjectsBuilder<?, ?> headObjects() {
+        return HeadObjects.builder()
+            .id(HeadObjectsTest.class.getSimpleName())
+            .type(HeadObjects.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion());
+    }
+
+    @SuppressWarnings("unchecked")
+    private java.util.List<Map<String, Object>> rows(URI uri) throws Exception {
+        java.util.List<Map<String, Object>> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(storageInterface.get(null, uri)))) {
+            FileSerde.reader(reader, row -> rows.add((Map<String, Object>) row));
+        }
+
+        return rows;
+    }
+
+    @Test
+    void keys() throws Exception {
+        this.createBucket();
+
+        String dir = IdUtils.create();
+        String first = upload("tasks/s3/" + dir);
+        String second = upload("tasks/s3/" + dir);
+        String missing = "tasks/s3/" + dir + "/missing.yml";
+
+        HeadObjects task = headObjects()
+            .from(java.util.List.of(first, missing, second))
+            .concurrent(2)
+            .build();
+        HeadObjects.Output output = task.run(runContext(task));
+
+        assertThat(output.getCount(), is(3L));
+        assertThat(output.getMissing(), is(1L));
+
+        java.util.List<Map<String, Object>> rows = rows(output.getUri());
+        assertThat(rows.stream().map(row -> row.get("key")).toList(), contains(first, missing, second));
+        assertThat(rows.get(0).get("exists"), is(true));
+        assertThat(rows.get(0).get("size"), notNullValue());
+        assertThat(rows.get(1).get("exists"), is(false));
+    }
+
+    @Test
+    void fromList() throws Exception {
+        this.createBucket();
+
+        String dir = IdUtils.create();
+        for (int i = 0; i < 3; i++) {
+            upload("tasks/s3/" + dir);
+        }
+
+        List list = list()
+            .prefix("tasks/s3/" + dir)
+            .fetchType(FetchType.STORE)
+            .build();
+        List.Output listOutput = list.run(runContext(list));
+
+        HeadObjects task = headObjects()
+            .from(listOutput.getUri().toString())
+            .build();
+        HeadObjects.Output output = task.run(runContext(task));
+
+        assertThat(output.getCount(), is(3L));
+        assertThat(output.getMissing(), is(0L));
+        assertThat(rows(output.getUri()).stream().allMatch(row -> Boolean.TRUE.equals(row.get("exists"))), is(true));
+    }
+}
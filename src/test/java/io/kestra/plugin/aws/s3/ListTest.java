@@ -1,9 +1,22 @@
 package io.kestra.plugin.aws.s3;
 
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.aws.s3.models.S3Object;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -61,4 +74,116 @@ class ListTest extends AbstractTest {
         run = task.run(runContext(task));
         assertThat(run.getObjects().size(), is(1));
     }
+
+    @Test
+    void paginated() throws Exception {
+        this.createBucket();
+
+        String dir = IdUtils.create();
+        for (int i = 0; i < 5; i++) {
+            upload("/tasks/s3/" + dir);
+        }
+
+        // all the pages are listed
+        List task = list()
+            .prefix("/tasks/s3/" + dir)
+            .maxKeys(2)
+            .build();
+        List.Output run = task.run(runContext(task));
+        assertThat(run.getObjects().size(), is(5));
+
+        // up to the total cap
+        task = list()
+            .prefix("/tasks/s3/" + dir)
+            .maxKeys(2)
+            .maxObjects(3)
+            .build();
+        run = task.run(runContext(task));
+        assertThat(run.getObjects().size(), is(3));
+
+        // stored in the internal storage
+        task = list()
+            .prefix("/tasks/s3/" + dir)
+            .maxKeys(2)
+            .fetchType(FetchType.STORE)
+            .build();
+        run = task.run(runContext(task));
+        assertThat(run.getObjects(), nullValue());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(storageInterface.get(null, run.getUri())))) {
+            java.util.List<Object> objects = new ArrayList<>();
+            FileSerde.reader(reader, objects::add);
+            assertThat(objects.size(), is(5));
+        }
+    }
+
+    @Test
+    void partitioned() throws Exception {
+        this.createBucket();
+
+        String dir = IdUtils.create();
+        for (int i = 0; i < 3; i++) {
+            upload("tasks/s3/" + dir + "/a");
+            upload("tasks/s3/" + dir + "/b");
+        }
+        upload("tasks/s3/" + dir + "/c/sub");
+        String root = upload("tasks/s3/" + dir);
+
+        // partitions discovered one level below the prefix, with the objects at this level
+        List task = list()
+            .prefix("tasks/s3/" + dir + "/")
+            .maxKeys(2)
+            .concurrent(2)
+            .build();
+        List.Output run = task.run(runContext(task));
+        assertThat(run.getObjects().size(), is(8));
+        assertThat(run.getObjects().stream().map(S3Object::getKey).toList(), hasItem(root));
+
+        // given partitions
+        task = list()
+            .partitions(java.util.List.of("tasks/s3/" + dir + "/a/", "tasks/s3/" + dir + "/c/"))
+            .concurrent(2)
+            .build();
+        run = task.run(runContext(task));
+        assertThat(run.getObjects().size(), is(4));
+    }
+
+    @Test
+    void inventory() throws Exception {
+        this.createBucket();
+
+        String csv = String.join("\n",
+            "\"" + this.BUCKET + "\",\"inventory/a.csv\",\"\",\"true\",\"false\",\"10\",\"2023-01-01T00:00:00.000Z\"",
+            "\"" + this.BUCKET + "\",\"inventory/with+space.csv\",\"\",\"true\",\"false\",\"20\",\"2023-01-01T00:00:00.000Z\"",
+            "\"" + this.BUCKET + "\",\"inventory/deleted.csv\",\"v1\",\"true\",\"true\",\"\",\"2023-01-01T00:00:00.000Z\"",
+            "\"" + this.BUCKET + "\",\"other/b.json\",\"\",\"true\",\"false\",\"30\",\"2023-01-01T00:00:00.000Z\""
+        );
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(gzip)) {
+            outputStream.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String manifest = "{" +
+            "\"sourceBucket\": \"" + this.BUCKET + "\"," +
+            "\"destinationBucket\": \"arn:aws:s3:::" + this.BUCKET + "\"," +
+            "\"version\": \"2016-11-30\"," +
+            "\"fileFormat\": \"CSV\"," +
+            "\"fileSchema\": \"Bucket, Key, VersionId, IsLatest, IsDeleteMarker, Size, LastModifiedDate\"," +
+            "\"files\": [{\"key\": \"reports/data/1.csv.gz\", \"size\": " + gzip.size() + ", \"MD5checksum\": \"\"}]" +
+            "}";
+
+        List task = list()
+            .prefix("inventory/")
+            .inventoryManifest("s3://" + this.BUCKET + "/reports/manifest.json")
+            .build();
+
+        try (S3Client client = task.client(runContext(task))) {
+            client.putObject(PutObjectRequest.builder().bucket(this.BUCKET).key("reports/data/1.csv.gz").build(), RequestBody.fromBytes(gzip.toByteArray()));
+            client.putObject(PutObjectRequest.builder().bucket(this.BUCKET).key("reports/manifest.json").build(), RequestBody.fromString(manifest));
+        }
+
+        List.Output run = task.run(runContext(task));
+        assertThat(run.getObjects().stream().map(S3Object::getKey).toList(), contains("inventory/a.csv", "inventory/with space.csv"));
+        assertThat(run.getObjects().get(1).getSize(), is(20L));
+    }
 }
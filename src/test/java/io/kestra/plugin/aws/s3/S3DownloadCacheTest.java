@@ -0,0 +1,75 @@
+package io.kestra.plugin.aws.s3;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class S3DownloadCacheTest {
+    @TempDir
+    Path directory;
+
+    private static S3DownloadCache.Entry entry(String key, long size) {
+        return new S3DownloadCache.Entry("scope", "bucket", key, null, "\"etag\"", size, "text/plain", Map.of());
+    }
+
+    private Path file(String name, String content) throws Exception {
+        return Files.writeString(this.directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void copied() throws Exception {
+        S3DownloadCache cache = S3DownloadCache.of(this.directory.resolve("cache"), 1024);
+        S3DownloadCache.Entry entry = entry("key", 5);
+
+        Path source = file("source", "first");
+        cache.put(entry, source);
+        Files.writeString(source, "changed", StandardCharsets.UTF_8);
+
+        Path target = this.directory.resolve("target");
+        assertThat(cache.copy(cache.get("scope", "bucket", "key", null).orElseThrow(), target), is(true));
+        assertThat(Files.readString(target, StandardCharsets.UTF_8), is("first"));
+
+        // the file of a task is never the cached file
+        Files.writeString(target, "modified", StandardCharsets.UTF_8);
+        Path other = this.directory.resolve("other");
+        assertThat(cache.copy(entry, other), is(true));
+        assertThat(Files.readString(other, StandardCharsets.UTF_8), is("first"));
+    }
+
+    @Test
+    void maxSizeByDirectory() throws Exception {
+        S3DownloadCache small = S3DownloadCache.of(this.directory.resolve("small"), 5);
+        S3DownloadCache large = S3DownloadCache.of(this.directory.resolve("large"), 10);
+
+        for (String key : new String[]{"first", "second"}) {
+            small.put(entry(key, 5), file(key, "12345"));
+            large.put(entry(key, 5), file(key, "12345"));
+        }
+
+        assertThat(small.get("scope", "bucket", "first", null).isPresent(), is(false));
+        assertThat(small.get("scope", "bucket", "second", null).isPresent(), is(true));
+        assertThat(large.get("scope", "bucket", "first", null).isPresent(), is(true));
+        assertThat(large.get("scope", "bucket", "second", null).isPresent(), is(true));
+
+        // the limit of a directory is the one of its first use
+        assertThat(S3DownloadCache.of(this.directory.resolve("small"), 10), is(small));
+    }
+
+    @Test
+    void evicted() throws Exception {
+        S3DownloadCache cache = S3DownloadCache.of(this.directory.resolve("cache"), 5);
+        S3DownloadCache.Entry first = entry("first", 5);
+
+        cache.put(first, file("first", "12345"));
+        cache.put(entry("second", 5), file("second", "12345"));
+
+        assertThat(cache.copy(first, this.directory.resolve("target")), is(false));
+    }
+}
@@ -0,0 +1,95 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.serializers.FileSerde;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+class SelectTest {
+    private static SdkBytes bytes(String payload) {
+        return SdkBytes.fromUtf8String(payload);
+    }
+
+    private static java.util.List<Object> records(ByteArrayOutputStream outputStream) throws Exception {
+        java.util.List<Object> records = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), StandardCharsets.UTF_8))) {
+            FileSerde.reader(reader, records::add);
+        }
+
+        return records;
+    }
+
+    @Test
+    void recordSplitAcrossEvents() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Select.RecordWriter writer = new Select.RecordWriter(outputStream);
+
+        writer.write(bytes("{\"id\": 1, \"name\": \"fir"));
+        writer.write(bytes("st\"}\n{\"id\""));
+        writer.write(bytes(": 2}\n"));
+
+        assertThat(writer.end(), is(2L));
+        assertThat(records(outputStream), contains(Map.of("id", 1, "name", "first"), Map.of("id", 2)));
+    }
+
+    @Test
+    void multibyteCharacterSplitAcrossEvents() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Select.RecordWriter writer = new Select.RecordWriter(outputStream);
+
+        byte[] record = "{\"name\": \"\u00e9\"}\n".getBytes(StandardCharsets.UTF_8);
+        int split = "{\"name\": \"".length() + 1;
+        writer.write(SdkBytes.fromByteArray(Arrays.copyOfRange(record, 0, split)));
+        writer.write(SdkBytes.fromByteArray(Arrays.copyOfRange(record, split, record.length)));
+
+        assertThat(writer.end(), is(1L));
+        assertThat(records(outputStream), contains(Map.of("name", "\u00e9")));
+    }
+
+    @Test
+    void severalRecordsInOneEvent() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Select.RecordWriter writer = new Select.RecordWriter(outputStream);
+
+        writer.write(bytes("{\"id\": 1}\n{\"id\": 2}\n{\"id\": 3}\n"));
+
+        assertThat(writer.end(), is(3L));
+        assertThat(records(outputStream), contains(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3)));
+    }
+
+    @Test
+    void missingTrailingNewline() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Select.RecordWriter writer = new Select.RecordWriter(outputStream);
+
+        writer.write(bytes("{\"id\": 1}\n{\"id\":"));
+        writer.write(bytes(" 2}"));
+
+        assertThat(writer.end(), is(2L));
+        assertThat(records(outputStream), contains(Map.of("id", 1), Map.of("id", 2)));
+    }
+
+    @Test
+    void emptyEvents() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Select.RecordWriter writer = new Select.RecordWriter(outputStream);
+
+        writer.write(bytes(""));
+        writer.write(bytes("\n"));
+
+        assertThat(writer.end(), is(0L));
+        assertThat(records(outputStream), is(java.util.List.of()));
+    }
+}
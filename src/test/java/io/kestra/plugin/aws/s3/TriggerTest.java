@@ -1,6 +1,8 @@
 package io.kestra.plugin.aws.s3;
 
+import io.kestra.core.models.conditions.ConditionContext;
 import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.triggers.TriggerContext;
 import io.kestra.core.queues.QueueFactoryInterface;
 import io.kestra.core.queues.QueueInterface;
 import io.kestra.core.repositories.LocalFlowRepositoryLoader;
@@ -9,18 +11,24 @@ import io.kestra.core.runners.Worker;
 import io.kestra.core.schedulers.AbstractScheduler;
 import io.kestra.core.schedulers.DefaultScheduler;
 import io.kestra.core.schedulers.SchedulerTriggerStateInterface;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
 import io.kestra.plugin.aws.s3.models.S3Object;
 import io.micronaut.context.ApplicationContext;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 
 class TriggerTest extends AbstractTest {
@@ -86,4 +94,104 @@ class TriggerTest extends AbstractTest {
             assertThat(trigger.size(), is(2));
         }
     }
+
+    private Trigger.TriggerBuilder<?, ?> incremental(String bucket, Trigger.Incremental incremental) {
+        return Trigger.builder()
+            .id(TriggerTest.class.getSimpleName() + IdUtils.create())
+            .type(Trigger.class.getName())
+            .bucket(bucket)
+            .prefix("incremental/")
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .action(ActionInterface.Action.NONE)
+            .incremental(incremental);
+    }
+
+    private static java.util.List<String> keys(Optional<Execution> execution) {
+        return execution.map(e -> objects(e).stream().map(S3Object::getKey).toList()).orElse(java.util.List.of());
+    }
+
+    @Test
+    void incrementalKey() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        put(bucket, "incremental/b.yml");
+
+        Trigger trigger = incremental(bucket, Trigger.Incremental.KEY).build();
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(keys(trigger.evaluate(context.getKey(), context.getValue())), contains("incremental/b.yml"));
+
+        // the detected file is left in place but not detected again
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // only the keys after the last detected one are detected
+        put(bucket, "incremental/a.yml");
+        put(bucket, "incremental/c.yml");
+        assertThat(keys(trigger.evaluate(context.getKey(), context.getValue())), contains("incremental/c.yml"));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        assertThat(list().bucket(bucket).build().run(context.getKey().getRunContext()).getObjects().size(), is(3));
+    }
+
+    @Test
+    void incrementalLastModified() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        put(bucket, "incremental/b.yml");
+
+        Trigger trigger = incremental(bucket, Trigger.Incremental.LAST_MODIFIED).build();
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(keys(trigger.evaluate(context.getKey(), context.getValue())), contains("incremental/b.yml"));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // a new file is detected whatever its key, even when modified in the same second as the last detected one
+        put(bucket, "incremental/a.yml");
+        assertThat(keys(trigger.evaluate(context.getKey(), context.getValue())), contains("incremental/a.yml"));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // and a file uploaded again is detected again
+        put(bucket, "incremental/b.yml");
+        assertThat(keys(trigger.evaluate(context.getKey(), context.getValue())), contains("incremental/b.yml"));
+    }
+
+    @Test
+    void downloads() throws Exception {
+        String bucket = this.createBucket(IdUtils.create().toLowerCase());
+        for (int i = 0; i < 5; i++) {
+            upload("downloads", bucket);
+        }
+
+        Trigger.TriggerBuilder<?, ?> builder = Trigger.builder()
+            .id(TriggerTest.class.getSimpleName() + IdUtils.create())
+            .type(Trigger.class.getName())
+            .bucket(bucket)
+            .prefix("downloads")
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .action(ActionInterface.Action.NONE);
+
+        // parallel downloads keep the listing order
+        Trigger parallel = builder.concurrent(3).build();
+        Map.Entry<ConditionContext, TriggerContext> context = TestsUtils.mockTrigger(runContextFactory, parallel);
+        java.util.List<S3Object> objects = objects(parallel.evaluate(context.getKey(), context.getValue()).orElseThrow());
+        assertThat(objects.size(), is(5));
+        assertThat(objects.stream().allMatch(object -> object.getUri() != null), is(true));
+        assertThat(objects.stream().map(S3Object::getKey).sorted().toList(), is(objects.stream().map(S3Object::getKey).toList()));
+
+        // lazy detection only outputs the keys
+        Trigger lazy = builder.download(false).build();
+        context = TestsUtils.mockTrigger(runContextFactory, lazy);
+        objects = objects(lazy.evaluate(context.getKey(), context.getValue()).orElseThrow());
+        assertThat(objects.size(), is(5));
+        assertThat(objects.stream().allMatch(object -> object.getUri() == null), is(true));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static java.util.List<S3Object> objects(Execution execution) {
+        return (java.util.List<S3Object>) execution.getTrigger().getVariables().get("objects");
+    }
 }
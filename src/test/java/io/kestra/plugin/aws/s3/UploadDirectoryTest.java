@@ -0,0 +1,62 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class UploadDirectoryTest extends AbstractTest {
+    @Test
+    void skipUnchanged() throws Exception {
+        this.createBucket();
+
+        URI first = put("first");
+        URI second = put("second");
+
+        UploadDirectory task = task(Map.of("a.txt", first.toString(), "sub/b.txt", second.toString()));
+        UploadDirectory.Output run = task.run(runContext(task));
+        assertThat(run.getUploaded(), containsInAnyOrder("tasks/sync/a.txt", "tasks/sync/sub/b.txt"));
+        assertThat(run.getSkipped(), is(0));
+
+        // only the modified file is uploaded again
+        task = task(Map.of("a.txt", first.toString(), "sub/b.txt", put("modified").toString()));
+        run = task.run(runContext(task));
+        assertThat(run.getUploaded(), containsInAnyOrder("tasks/sync/sub/b.txt"));
+        assertThat(run.getSkipped(), is(1));
+        assertThat(run.getFailures(), empty());
+
+        List list = list().prefix("tasks/sync/").build();
+        assertThat(list.run(runContext(list)).getObjects().size(), is(2));
+    }
+
+    private UploadDirectory task(Map<String, String> from) {
+        return UploadDirectory.builder()
+            .id(UploadDirectoryTest.class.getSimpleName())
+            .type(UploadDirectory.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .prefix("tasks/sync")
+            .from(from)
+            .build();
+    }
+
+    private URI put(String content) throws Exception {
+        return storageInterface.put(
+            null,
+            new URI("/" + IdUtils.create()),
+            new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+}
@@ -0,0 +1,183 @@
+package io.kestra.plugin.aws.s3;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.localstack.LocalStackContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+class UploadTest extends AbstractTest {
+    @Test
+    void streaming() throws Exception {
+        this.createBucket();
+
+        // 2 full parts and a last smaller one
+        byte[] content = content(12 * 1024 * 1024);
+        Upload.Output output = upload(content, 5 * 1024 * 1024);
+        assertThat(output.getETag(), notNullValue());
+
+        assertThat(download(output.getKey()), is(content));
+    }
+
+    @Test
+    void streamingSinglePart() throws Exception {
+        this.createBucket();
+
+        byte[] content = content(1024);
+        Upload.Output output = upload(content, 5 * 1024 * 1024);
+
+        assertThat(download(output.getKey()), is(content));
+    }
+
+    @Test
+    void transferOptions() throws Exception {
+        this.createBucket();
+
+        byte[] content = content(6 * 1024 * 1024);
+        URI source = storageInterface.put(
+            null,
+            new URI("/" + IdUtils.create()),
+            new ByteArrayInputStream(content)
+        );
+
+        Upload upload = Upload.builder()
+            .id(UploadTest.class.getSimpleName())
+            .type(Upload.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .from(source.toString())
+            .key("tasks/aws/upload/" + IdUtils.create())
+            .targetThroughputInGbps(1D)
+            .minimumPartSizeInBytes(5L * 1024 * 1024)
+            .maxConcurrency(2)
+            .initialReadBufferSizeInBytes(1024L * 1024)
+            .build();
+
+        RunContext runContext = runContext(upload);
+        Upload.Output output = upload.run(runContext);
+
+        assertThat(download(output.getKey()), is(content));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("throughput")), is(true));
+    }
+
+    @Test
+    void compression() throws Exception {
+        this.createBucket();
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; lines.length() < 16 * 1024 * 1024; i++) {
+            lines.append(i).append(",customer-").append(i % 1000).append(",2023-10-01\n");
+        }
+        byte[] content = lines.toString().getBytes(StandardCharsets.UTF_8);
+
+        for (Compression compression : new Compression[]{Compression.GZIP, Compression.ZSTD, Compression.SNAPPY}) {
+            for (boolean streaming : new boolean[]{true, false}) {
+                URI source = storageInterface.put(
+                    null,
+                    new URI("/" + IdUtils.create()),
+                    new ByteArrayInputStream(content)
+                );
+
+                Upload upload = Upload.builder()
+                    .id(UploadTest.class.getSimpleName())
+                    .type(Upload.class.getName())
+                    .bucket(this.BUCKET)
+                    .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+                    .accessKeyId(localstack.getAccessKey())
+                    .secretKeyId(localstack.getSecretKey())
+                    .region(localstack.getRegion())
+                    .from(source.toString())
+                    .key("tasks/aws/upload/" + IdUtils.create())
+                    .streaming(streaming)
+                    .partSize(5 * 1024 * 1024)
+                    .compression(compression)
+                    .build();
+                Upload.Output output = upload.run(runContext(upload));
+
+                byte[] compressed = download(output.getKey());
+                assertThat(compressed.length < content.length, is(true));
+                assertThat(compression.decompress(new ByteArrayInputStream(compressed)).readAllBytes(), is(content));
+
+                Download download = Download.builder()
+                    .id(UploadTest.class.getSimpleName())
+                    .type(Download.class.getName())
+                    .bucket(this.BUCKET)
+                    .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+                    .accessKeyId(localstack.getAccessKey())
+                    .secretKeyId(localstack.getSecretKey())
+                    .region(localstack.getRegion())
+                    .key(output.getKey())
+                    .decompression(compression)
+                    .build();
+                Download.Output run = download.run(runContext(download));
+
+                assertThat(run.getContentLength(), is((long) content.length));
+                try (InputStream inputStream = storageInterface.get(null, run.getUri())) {
+                    assertThat(inputStream.readAllBytes(), is(content));
+                }
+            }
+        }
+    }
+
+    private Upload.Output upload(byte[] content, int partSize) throws Exception {
+        URI source = storageInterface.put(
+            null,
+            new URI("/" + IdUtils.create()),
+            new ByteArrayInputStream(content)
+        );
+
+        Upload upload = Upload.builder()
+            .id(UploadTest.class.getSimpleName())
+            .type(Upload.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .from(source.toString())
+            .key("tasks/aws/upload/" + IdUtils.create())
+            .streaming(true)
+            .partSize(partSize)
+            .partsInFlight(2)
+            .build();
+
+        return upload.run(runContext(upload));
+    }
+
+    private byte[] download(String key) throws Exception {
+        Download download = Download.builder()
+            .id(UploadTest.class.getSimpleName())
+            .type(Download.class.getName())
+            .bucket(this.BUCKET)
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.S3).toString())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .region(localstack.getRegion())
+            .key(key)
+            .build();
+        Download.Output run = download.run(runContext(download));
+
+        try (InputStream inputStream = storageInterface.get(null, run.getUri())) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+
+        return content;
+    }
+}
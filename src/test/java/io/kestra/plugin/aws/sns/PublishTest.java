@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -34,4 +36,29 @@ class PublishTest extends AbstractSnsTest {
         var publishOutput = publish.run(runContext);
         assertThat(publishOutput.getMessagesCount(), is(2));
     }
+
+    @Test
+    void runBatches() throws Exception {
+        var runContext = runContextFactory.of();
+
+        // 3 batches, one of them partial, and a SMS published alone
+        var publish = Publish.builder()
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SNS).toString())
+            .topicArn(TOPIC_ARN)
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .from(Stream.concat(
+                IntStream.range(0, 25).mapToObj(i -> Message.builder().data("Hello " + i).build()),
+                Stream.of(Message.builder().data("Hello SMS").phoneNumber("+33600000000").build())
+            ).toList())
+            .concurrent(2)
+            .build();
+
+        var client = publish.client(runContext);
+        createTopic(client);
+
+        var publishOutput = publish.run(runContext);
+        assertThat(publishOutput.getMessagesCount(), is(26));
+    }
 }
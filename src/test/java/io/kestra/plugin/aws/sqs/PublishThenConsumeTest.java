@@ -5,7 +5,9 @@ import io.kestra.plugin.aws.sqs.model.SerdeType;
 import org.junit.jupiter.api.Test;
 import org.testcontainers.containers.localstack.LocalStackContainer;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -87,4 +89,42 @@ class PublishThenConsumeTest extends AbstractSqsTest {
         var consumeOutput = consume.run(runContextFactory.of());
         assertThat(consumeOutput.getCount(), is(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void runBatches() throws Exception {
+        var runContext = runContextFactory.of();
+
+        // 3 batches, one of them partial
+        var publish = Publish.builder()
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SQS).toString())
+            .queueUrl(queueUrl())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .from(IntStream.range(0, 25)
+                .mapToObj(i -> Message.builder().data("Hello " + i).build())
+                .toList()
+            )
+            .concurrent(2)
+            .build();
+
+        var client = publish.client(runContext);
+        createQueue(client);
+
+        var publishOutput = publish.run(runContext);
+        assertThat(publishOutput.getMessagesCount(), is(25));
+
+        var consume = Consume.builder()
+            .endpointOverride(localstack.getEndpointOverride(LocalStackContainer.Service.SQS).toString())
+            .queueUrl(queueUrl())
+            .region(localstack.getRegion())
+            .accessKeyId(localstack.getAccessKey())
+            .secretKeyId(localstack.getSecretKey())
+            .maxRecords(25)
+            .maxDuration(Duration.ofSeconds(30))
+            .build();
+
+        var consumeOutput = consume.run(runContextFactory.of());
+        assertThat(consumeOutput.getCount(), is(25));
+    }
+}